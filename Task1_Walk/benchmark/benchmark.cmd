@@ -0,0 +1,3 @@
+rm -rf classes
+mkdir classes
+javac -cp "$JMH/*" -d classes ../src/ru/ifmo/rain/dolgikh/walk/*.java src/ru/ifmo/rain/dolgikh/walk/*.java && java -cp "classes:$JMH/*" org.openjdk.jmh.Main "$@"
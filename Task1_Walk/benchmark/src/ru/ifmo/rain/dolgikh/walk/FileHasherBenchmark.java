@@ -0,0 +1,57 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileHasherBenchmark {
+
+    @Param({"4096", "1048576", "67108864"})
+    private int fileSize;
+
+    @Param({"fnv1-32", "fnv1a-64", "xxh64", "sha-256"})
+    private String algorithmName;
+
+    private Path directory;
+    private Path file;
+    private HashAlgorithm algorithm;
+    private ByteBuffer cached;
+    private final WalkStatistics statistics = new WalkStatistics();
+
+    @Setup
+    public void setUp() throws IOException, WalkException {
+        directory = Fixtures.createDirectory();
+        file = Fixtures.createFile(directory, "data", fileSize);
+        algorithm = HashAlgorithm.forName(algorithmName);
+        cached = ByteBuffer.allocateDirect(fileSize);
+        cached.put(Fixtures.randomBytes(fileSize));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixtures.delete(directory);
+    }
+
+    @Benchmark
+    public byte[] file() throws IOException, WalkException {
+        return FileHasher.getHash(file, algorithm, statistics, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public byte[] memory() {
+        HashAlgorithm.State state = algorithm.newState();
+        cached.clear();
+        state.update(cached);
+        return state.digest();
+    }
+}
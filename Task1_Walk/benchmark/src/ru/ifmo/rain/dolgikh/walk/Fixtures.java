@@ -0,0 +1,62 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+class Fixtures {
+
+    static final long SEED = 2384701432182342L;
+
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int CHUNK = 1 << 20;
+
+    private Fixtures() {
+    }
+
+    static Path createDirectory() throws IOException {
+        Path root = Paths.get("__Benchmark__Walk__");
+        Files.createDirectories(root);
+        return Files.createTempDirectory(root, "fixture");
+    }
+
+    static Path createFile(Path directory, String name, long size) throws IOException {
+        Path file = directory.resolve(name);
+        Random random = new Random(SEED);
+        byte[] chunk = new byte[CHUNK];
+        try (OutputStream output = Files.newOutputStream(file)) {
+            for (long written = 0; written < size; written += CHUNK) {
+                random.nextBytes(chunk);
+                output.write(chunk, 0, (int) Math.min(CHUNK, size - written));
+            }
+        }
+        return file;
+    }
+
+    static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(SEED).nextBytes(bytes);
+        return bytes;
+    }
+
+    static String randomFileName(Random random) {
+        StringBuilder sb = new StringBuilder("__Benchmark__Walk__/");
+        for (int i = 0; i < 30; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashBenchmark {
+
+    @Param({"4096", "1048576", "67108864"})
+    private int fileSize;
+
+    @Param({"1024", "8192", "65536", "1048576"})
+    private int bufferSize;
+
+    private Path directory;
+    private Path file;
+    private byte[] heapBuffer;
+    private ByteBuffer directBuffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Fixtures.createDirectory();
+        file = Fixtures.createFile(directory, "data", fileSize);
+        heapBuffer = new byte[bufferSize];
+        directBuffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixtures.delete(directory);
+    }
+
+    @Benchmark
+    public int inputStream() throws IOException {
+        int hash = FnvHash.OFFSET_BASIS_32;
+        try (InputStream input = Files.newInputStream(file)) {
+            int c;
+            while ((c = input.read(heapBuffer)) >= 0) {
+                for (int i = 0; i < c; i++) {
+                    hash = (hash * FnvHash.PRIME_32) ^ (heapBuffer[i] & 0xff);
+                }
+            }
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public byte[] channel() throws IOException {
+        HashAlgorithm.State state = FnvHash.FNV1_32.newState();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            directBuffer.clear();
+            while (channel.read(directBuffer) >= 0) {
+                directBuffer.flip();
+                state.update(directBuffer);
+                directBuffer.clear();
+            }
+        }
+        return state.digest();
+    }
+}
@@ -0,0 +1,76 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OutputBenchmark {
+
+    @Param({"1000000"})
+    private int lines;
+
+    private Path directory;
+    private Path output;
+    private String[] fileNames;
+    private int[] hashes;
+    private byte[][] digests;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Fixtures.createDirectory();
+        output = directory.resolve("output.txt");
+        Random random = new Random(Fixtures.SEED);
+        fileNames = new String[lines];
+        hashes = new int[lines];
+        digests = new byte[lines][];
+        for (int i = 0; i < lines; i++) {
+            fileNames[i] = Fixtures.randomFileName(random);
+            hashes[i] = random.nextInt();
+            digests[i] = new byte[]{(byte) (hashes[i] >>> 24), (byte) (hashes[i] >>> 16), (byte) (hashes[i] >>> 8), (byte) hashes[i]};
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixtures.delete(directory);
+    }
+
+    @Benchmark
+    public void stringFormat(Blackhole blackhole) {
+        for (int i = 0; i < lines; i++) {
+            blackhole.consume(String.format("%08x", hashes[i]) + " " + fileNames[i]);
+        }
+    }
+
+    @Benchmark
+    public void writeStringFormat() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(String.format("%08x", hashes[i]) + " " + fileNames[i]);
+                writer.newLine();
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeResultWriter() throws IOException {
+        try (ResultWriter writer = ResultWriter.open(output, Integer.BYTES)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(digests[i], fileNames[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+class AsyncWalk {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final HashAlgorithm algorithm;
+    private final WalkStatistics statistics;
+    private final ExecutorService handlers;
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    private AsyncWalk(HashAlgorithm algorithm, WalkStatistics statistics, int threads, int readsInFlight) {
+        this.algorithm = algorithm;
+        this.statistics = statistics;
+        // Without native async file I/O (e.g. on Linux) each read blocks a pool thread, so the pool bounds reads in flight.
+        this.handlers = Executors.newFixedThreadPool(Math.max(threads, readsInFlight));
+        this.buffers = new ArrayBlockingQueue<>(readsInFlight);
+        for (int i = 0; i < readsInFlight; i++) {
+            buffers.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+        }
+    }
+
+    static void walk(BufferedReader reader, Path inputPath, ResultWriter resultWriter, WalkContext context) throws WalkException {
+        WalkOptions options = context.getOptions();
+        AsyncWalk asyncWalk = new AsyncWalk(options.getAlgorithm(), context.getStatistics(), options.getThreads(), options.getReadsInFlight());
+        Queue<Map.Entry<String, Future<byte[]>>> pending = new ArrayDeque<>();
+        int window = Walk.windowSize(options.getReadsInFlight());
+        try {
+            String curFileName;
+            while ((curFileName = Walk.readLine(reader, inputPath)) != null) {
+                if (pending.size() == window) {
+                    Walk.writeResult(resultWriter, pending.poll());
+                }
+                pending.add(Map.entry(curFileName, asyncWalk.hash(curFileName)));
+            }
+            while (!pending.isEmpty()) {
+                Walk.writeResult(resultWriter, pending.poll());
+            }
+        } finally {
+            asyncWalk.handlers.shutdownNow();
+        }
+    }
+
+    private Future<byte[]> hash(String fileName) throws WalkException {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        long start = System.nanoTime();
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(Paths.get(fileName), Set.of(StandardOpenOption.READ), handlers);
+        } catch (InvalidPathException e) {
+            statistics.error(WalkStatistics.ErrorKind.INVALID_PATH);
+            result.complete(null);
+            return result;
+        } catch (IOException e) {
+            statistics.openError(e);
+            result.complete(null);
+            return result;
+        }
+
+        ByteBuffer buffer;
+        try {
+            buffer = buffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close(channel);
+            throw new WalkException("Hashing interrupted");
+        }
+        buffer.clear();
+        new ReadHandler(channel, buffer, result, start).read();
+        return result;
+    }
+
+    private static void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private class ReadHandler implements CompletionHandler<Integer, Void> {
+
+        private final AsynchronousFileChannel channel;
+        private final ByteBuffer buffer;
+        private final CompletableFuture<byte[]> result;
+        private final HashAlgorithm.State state = algorithm.newState();
+        private final long start;
+        private long position;
+        private long requested;
+
+        ReadHandler(AsynchronousFileChannel channel, ByteBuffer buffer, CompletableFuture<byte[]> result, long start) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.result = result;
+            this.start = start;
+        }
+
+        void read() {
+            requested = System.nanoTime();
+            try {
+                channel.read(buffer, position, null, this);
+            } catch (RuntimeException e) {
+                failed(e, null);
+            }
+        }
+
+        @Override
+        public void completed(Integer read, Void attachment) {
+            long done = System.nanoTime();
+            statistics.ioTime(done - requested);
+            if (read < 0) {
+                statistics.fileHashed(done - start);
+                finish(state.digest());
+                return;
+            }
+            position += read;
+            buffer.flip();
+            state.update(buffer);
+            buffer.clear();
+            statistics.hashTime(System.nanoTime() - done);
+            statistics.bytesRead(read);
+            read();
+        }
+
+        @Override
+        public void failed(Throwable e, Void attachment) {
+            statistics.error(WalkStatistics.ErrorKind.READ_FAILED);
+            new WalkException("Error reading").printMessage();
+            finish(null);
+        }
+
+        private void finish(byte[] hash) {
+            close(channel);
+            buffers.add(buffer);
+            result.complete(hash);
+        }
+    }
+}
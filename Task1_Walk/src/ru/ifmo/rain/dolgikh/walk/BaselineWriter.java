@@ -0,0 +1,148 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+class BaselineWriter extends ResultWriter {
+
+    private static final char ADDED = '+';
+    private static final char REMOVED = '-';
+    private static final char MODIFIED = '*';
+
+    private final Path baselinePath;
+    private final Map<String, byte[]> baseline;
+    private final Set<String> seen = new HashSet<>();
+    private final Path snapshotPath;
+    private final ResultWriter snapshot;
+    private boolean finished;
+    private long added;
+    private long removed;
+    private long modified;
+
+    private BaselineWriter(FileChannel channel, Path baselinePath, Map<String, byte[]> baseline, Path snapshotPath, int digestLength) throws IOException {
+        super(channel, BUFFER_SIZE, digestLength);
+        this.baselinePath = baselinePath;
+        this.baseline = baseline;
+        this.snapshotPath = snapshotPath;
+        this.snapshot = ResultWriter.open(snapshotPath, digestLength);
+    }
+
+    static Map<String, byte[]> load(String baselineName, HashAlgorithm algorithm) throws WalkException {
+        Path baselinePath = toPath(baselineName);
+        Map<String, byte[]> baseline = new LinkedHashMap<>();
+        if (Files.notExists(baselinePath)) {
+            return baseline;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(baselinePath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int separator = line.indexOf(' ');
+                byte[] hash = separator == 2 * algorithm.getDigestLength() ? parseHex(line, separator) : null;
+                if (hash == null) {
+                    throw new WalkException("Invalid baseline line for " + algorithm.getName() + ": " + line);
+                }
+                baseline.put(line.substring(separator + 1), hash);
+            }
+        } catch (IOException e) {
+            throw new WalkException("Error reading baseline file: " + baselinePath.getFileName());
+        }
+        return baseline;
+    }
+
+    static BaselineWriter open(Path outputPath, String baselineName, Map<String, byte[]> baseline, int digestLength) throws IOException, WalkException {
+        Path baselinePath = toPath(baselineName);
+        Path parent = baselinePath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        FileChannel channel = FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Path snapshotPath = null;
+        try {
+            snapshotPath = Files.createTempFile(parent, baselinePath.getFileName().toString(), ".tmp");
+            return new BaselineWriter(channel, baselinePath, baseline, snapshotPath, digestLength);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            if (snapshotPath != null) {
+                Files.deleteIfExists(snapshotPath);
+            }
+            throw e;
+        }
+    }
+
+    private static Path toPath(String baselineName) throws WalkException {
+        try {
+            return Paths.get(baselineName);
+        } catch (InvalidPathException e) {
+            throw new WalkException("Baseline file name is invalid");
+        }
+    }
+
+    private static byte[] parseHex(String line, int length) {
+        byte[] hash = new byte[length / 2];
+        for (int i = 0; i < hash.length; i++) {
+            int high = Character.digit(line.charAt(2 * i), 16);
+            int low = Character.digit(line.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            hash[i] = (byte) ((high << 4) | low);
+        }
+        return hash;
+    }
+
+    @Override
+    void write(byte[] hash, String fileName) throws IOException {
+        byte[] previous = baseline.get(fileName);
+        if (hash != null) {
+            snapshot.write(hash, fileName);
+        } else if (previous != null) {
+            snapshot.write(previous, fileName);
+        }
+        if (!seen.add(fileName)) {
+            return;
+        }
+        if (hash == null) {
+            if (previous != null) {
+                removed++;
+                write(REMOVED, previous, fileName);
+            }
+        } else if (previous == null) {
+            added++;
+            write(ADDED, hash, fileName);
+        } else if (!Arrays.equals(previous, hash)) {
+            modified++;
+            write(MODIFIED, hash, fileName);
+        }
+    }
+
+    @Override
+    void finish() throws IOException {
+        for (Map.Entry<String, byte[]> entry : baseline.entrySet()) {
+            if (!seen.contains(entry.getKey())) {
+                removed++;
+                write(REMOVED, entry.getValue(), entry.getKey());
+            }
+        }
+        snapshot.close();
+        Files.move(snapshotPath, baselinePath, StandardCopyOption.REPLACE_EXISTING);
+        finished = true;
+        System.out.println("Baseline: " + added + " added, " + removed + " removed, " + modified + " modified since " + baselinePath.getFileName());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (!finished) {
+                snapshot.close();
+                Files.deleteIfExists(snapshotPath);
+            }
+        }
+    }
+}
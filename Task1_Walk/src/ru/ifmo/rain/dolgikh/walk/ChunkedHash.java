@@ -0,0 +1,132 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+class ChunkedHash implements HashAlgorithm {
+
+    static final int CHUNK_SIZE = 1 << 23;
+
+    private final HashAlgorithm leaf;
+    private final String name;
+
+    ChunkedHash(HashAlgorithm leaf) {
+        this.leaf = leaf;
+        this.name = leaf.getName() + "-chunked";
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getDigestLength() {
+        return leaf.getDigestLength();
+    }
+
+    @Override
+    public State newState() {
+        return new ChunkedState();
+    }
+
+    byte[] hashParallel(FileChannel channel, long size, WalkStatistics statistics, ForkJoinPool pool) throws IOException {
+        List<ChunkTask> chunks = new ArrayList<>();
+        for (long position = 0; position < size; position += CHUNK_SIZE) {
+            chunks.add(new ChunkTask(channel, position, Math.min(CHUNK_SIZE, size - position), statistics));
+        }
+        for (ChunkTask chunk : chunks) {
+            pool.execute(chunk);
+        }
+        State root = leaf.newState();
+        try {
+            for (ChunkTask chunk : chunks) {
+                root.update(ByteBuffer.wrap(chunk.join()));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (ChunkTask chunk : chunks) {
+                chunk.cancel(false);
+            }
+        }
+        return finish(root, size);
+    }
+
+    private static byte[] finish(State root, long length) {
+        root.update(ByteBuffer.allocate(Long.BYTES).putLong(0, length));
+        return root.digest();
+    }
+
+    private class ChunkTask extends RecursiveTask<byte[]> {
+
+        private final FileChannel channel;
+        private final long position;
+        private final long length;
+        private final WalkStatistics statistics;
+
+        ChunkTask(FileChannel channel, long position, long length, WalkStatistics statistics) {
+            this.channel = channel;
+            this.position = position;
+            this.length = length;
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected byte[] compute() {
+            long start = System.nanoTime();
+            MappedByteBuffer chunk;
+            try {
+                chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            State state = leaf.newState();
+            state.update(chunk);
+            statistics.mappedTime(System.nanoTime() - start);
+            statistics.bytesRead(length);
+            return state.digest();
+        }
+    }
+
+    private class ChunkedState implements State {
+
+        private final State root = leaf.newState();
+        private State chunk = leaf.newState();
+        private int filled;
+        private long length;
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            int limit = buffer.limit();
+            while (buffer.hasRemaining()) {
+                int step = Math.min(buffer.remaining(), CHUNK_SIZE - filled);
+                buffer.limit(buffer.position() + step);
+                chunk.update(buffer);
+                buffer.limit(limit);
+                filled += step;
+                length += step;
+                if (filled == CHUNK_SIZE) {
+                    root.update(ByteBuffer.wrap(chunk.digest()));
+                    chunk = leaf.newState();
+                    filled = 0;
+                }
+            }
+        }
+
+        @Override
+        public byte[] digest() {
+            if (filled > 0) {
+                root.update(ByteBuffer.wrap(chunk.digest()));
+            }
+            return finish(root, length);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class DuplicateFinder {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private DuplicateFinder() {
+    }
+
+    static void walk(BufferedReader reader, Path inputPath, ResultWriter resultWriter, WalkContext context) throws WalkException {
+        Map<Long, List<String>> bySize = new TreeMap<>(Comparator.reverseOrder());
+        Set<String> seen = new HashSet<>();
+        String curFileName;
+        while ((curFileName = Walk.readLine(reader, inputPath)) != null) {
+            if (!seen.add(curFileName)) {
+                continue;
+            }
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(Paths.get(curFileName), BasicFileAttributes.class);
+                if (attributes.isRegularFile() && attributes.size() > 0) {
+                    bySize.computeIfAbsent(attributes.size(), size -> new ArrayList<>()).add(curFileName);
+                }
+            } catch (InvalidPathException e) {
+                context.getStatistics().error(WalkStatistics.ErrorKind.INVALID_PATH);
+            } catch (IOException e) {
+                context.getStatistics().openError(e);
+            }
+        }
+
+        List<String> candidates = new ArrayList<>();
+        for (List<String> sameSize : bySize.values()) {
+            if (sameSize.size() > 1) {
+                candidates.addAll(sameSize);
+            }
+        }
+        List<byte[]> hashes = hashAll(candidates, context);
+
+        Iterator<byte[]> hashIterator = hashes.iterator();
+        boolean first = true;
+        for (List<String> sameSize : bySize.values()) {
+            if (sameSize.size() < 2) {
+                continue;
+            }
+            Map<ByteBuffer, List<String>> byHash = new LinkedHashMap<>();
+            for (String fileName : sameSize) {
+                byte[] hash = hashIterator.next();
+                if (hash != null) {
+                    byHash.computeIfAbsent(ByteBuffer.wrap(hash), h -> new ArrayList<>()).add(fileName);
+                }
+            }
+            for (Map.Entry<ByteBuffer, List<String>> sameHash : byHash.entrySet()) {
+                if (sameHash.getValue().size() < 2) {
+                    continue;
+                }
+                for (List<String> group : sameContent(sameHash.getValue(), context.getStatistics())) {
+                    if (group.size() < 2) {
+                        continue;
+                    }
+                    if (!first) {
+                        Walk.writeLine(resultWriter, "");
+                    }
+                    first = false;
+                    for (String fileName : group) {
+                        Walk.writeResult(resultWriter, sameHash.getKey().array(), fileName);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<List<String>> sameContent(List<String> fileNames, WalkStatistics statistics) {
+        List<List<String>> groups = new ArrayList<>();
+        for (String fileName : fileNames) {
+            List<String> match = null;
+            try {
+                for (List<String> group : groups) {
+                    if (contentEquals(Paths.get(group.get(0)), Paths.get(fileName))) {
+                        match = group;
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                statistics.error(WalkStatistics.ErrorKind.READ_FAILED);
+                continue;
+            }
+            if (match == null) {
+                match = new ArrayList<>();
+                groups.add(match);
+            }
+            match.add(fileName);
+        }
+        return groups;
+    }
+
+    private static boolean contentEquals(Path first, Path second) throws IOException {
+        try (FileChannel firstChannel = FileChannel.open(first, StandardOpenOption.READ);
+             FileChannel secondChannel = FileChannel.open(second, StandardOpenOption.READ)) {
+            ByteBuffer firstBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+            ByteBuffer secondBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (true) {
+                int read = fill(firstChannel, firstBuffer);
+                if (read != fill(secondChannel, secondBuffer)) {
+                    return false;
+                }
+                if (read == 0) {
+                    return true;
+                }
+                if (!firstBuffer.flip().equals(secondBuffer.flip())) {
+                    return false;
+                }
+                firstBuffer.clear();
+                secondBuffer.clear();
+            }
+        }
+    }
+
+    private static int fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    private static List<byte[]> hashAll(List<String> fileNames, WalkContext context) throws WalkException {
+        int threads = context.getOptions().getThreads();
+        List<byte[]> hashes = new ArrayList<>(fileNames.size());
+        if (threads == 1) {
+            for (String fileName : fileNames) {
+                hashes.add(context.hash(fileName));
+            }
+            return hashes;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<byte[]>> pending = new ArrayList<>(fileNames.size());
+            for (String fileName : fileNames) {
+                pending.add(pool.submit(() -> context.hash(fileName)));
+            }
+            for (Future<byte[]> hash : pending) {
+                hashes.add(Walk.await(hash));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return hashes;
+    }
+}
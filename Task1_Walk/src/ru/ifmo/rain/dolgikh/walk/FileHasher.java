@@ -0,0 +1,71 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+class FileHasher {
+
+    private static final long MAP_THRESHOLD = 1L << 20;
+    private static final long MAP_WINDOW = 1L << 30;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private FileHasher() {
+    }
+
+    static byte[] getHash(Path path, HashAlgorithm algorithm, WalkStatistics statistics, ForkJoinPool chunkPool) throws IOException, WalkException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            try {
+                long size = channel.size();
+                if (algorithm instanceof ChunkedHash && size > ChunkedHash.CHUNK_SIZE) {
+                    return ((ChunkedHash) algorithm).hashParallel(channel, size, statistics, chunkPool);
+                }
+                HashAlgorithm.State state = algorithm.newState();
+                if (size >= MAP_THRESHOLD) {
+                    updateMapped(state, channel, size, statistics);
+                } else {
+                    updateBuffered(state, channel, statistics);
+                }
+                return state.digest();
+            } catch (IOException e) {
+                throw new WalkException("Error reading");
+            }
+        }
+    }
+
+    private static void updateMapped(HashAlgorithm.State state, FileChannel channel, long size, WalkStatistics statistics) throws IOException {
+        for (long position = 0; position < size; position += MAP_WINDOW) {
+            long length = Math.min(MAP_WINDOW, size - position);
+            long start = System.nanoTime();
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            state.update(window);
+            statistics.mappedTime(System.nanoTime() - start);
+            statistics.bytesRead(length);
+        }
+    }
+
+    private static void updateBuffered(HashAlgorithm.State state, FileChannel channel, WalkStatistics statistics) throws IOException {
+        ByteBuffer buffer = BUFFERS.get();
+        buffer.clear();
+        while (true) {
+            long start = System.nanoTime();
+            int read = channel.read(buffer);
+            long done = System.nanoTime();
+            statistics.ioTime(done - start);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            state.update(buffer);
+            buffer.clear();
+            statistics.hashTime(System.nanoTime() - done);
+            statistics.bytesRead(read);
+        }
+    }
+}
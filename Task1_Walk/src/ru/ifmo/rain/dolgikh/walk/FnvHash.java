@@ -0,0 +1,147 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+enum FnvHash implements HashAlgorithm {
+    FNV1_32("fnv1-32", false, false),
+    FNV1A_32("fnv1a-32", true, false),
+    FNV1_64("fnv1-64", false, true),
+    FNV1A_64("fnv1a-64", true, true);
+
+    static final int OFFSET_BASIS_32 = 0x811c9dc5;
+    static final int PRIME_32 = 0x01000193;
+    static final long OFFSET_BASIS_64 = 0xcbf29ce484222325L;
+    static final long PRIME_64 = 0x100000001b3L;
+
+    private final String name;
+    private final boolean alternate;
+    private final boolean wide;
+
+    FnvHash(String name, boolean alternate, boolean wide) {
+        this.name = name;
+        this.alternate = alternate;
+        this.wide = wide;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getDigestLength() {
+        return wide ? Long.BYTES : Integer.BYTES;
+    }
+
+    @Override
+    public State newState() {
+        return wide ? new State64(alternate) : new State32(alternate);
+    }
+
+    static int update32(int hash, ByteBuffer buffer) {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        int i = buffer.position();
+        int limit = buffer.limit();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                hash = (hash * PRIME_32) ^ ((int) (word >>> shift) & 0xff);
+            }
+        }
+        for (; i < limit; i++) {
+            hash = (hash * PRIME_32) ^ (buffer.get(i) & 0xff);
+        }
+        buffer.position(limit);
+        return hash;
+    }
+
+    private static int update32a(int hash, ByteBuffer buffer) {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        int i = buffer.position();
+        int limit = buffer.limit();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                hash = (hash ^ ((int) (word >>> shift) & 0xff)) * PRIME_32;
+            }
+        }
+        for (; i < limit; i++) {
+            hash = (hash ^ (buffer.get(i) & 0xff)) * PRIME_32;
+        }
+        buffer.position(limit);
+        return hash;
+    }
+
+    private static long update64(long hash, ByteBuffer buffer) {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        int i = buffer.position();
+        int limit = buffer.limit();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                hash = (hash * PRIME_64) ^ ((word >>> shift) & 0xff);
+            }
+        }
+        for (; i < limit; i++) {
+            hash = (hash * PRIME_64) ^ (buffer.get(i) & 0xff);
+        }
+        buffer.position(limit);
+        return hash;
+    }
+
+    private static long update64a(long hash, ByteBuffer buffer) {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        int i = buffer.position();
+        int limit = buffer.limit();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                hash = (hash ^ ((word >>> shift) & 0xff)) * PRIME_64;
+            }
+        }
+        for (; i < limit; i++) {
+            hash = (hash ^ (buffer.get(i) & 0xff)) * PRIME_64;
+        }
+        buffer.position(limit);
+        return hash;
+    }
+
+    private static class State32 implements State {
+        private final boolean alternate;
+        private int hash = OFFSET_BASIS_32;
+
+        State32(boolean alternate) {
+            this.alternate = alternate;
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            hash = alternate ? update32a(hash, buffer) : update32(hash, buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(hash).array();
+        }
+    }
+
+    private static class State64 implements State {
+        private final boolean alternate;
+        private long hash = OFFSET_BASIS_64;
+
+        State64(boolean alternate) {
+            this.alternate = alternate;
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            hash = alternate ? update64a(hash, buffer) : update64(hash, buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            return ByteBuffer.allocate(Long.BYTES).putLong(hash).array();
+        }
+    }
+}
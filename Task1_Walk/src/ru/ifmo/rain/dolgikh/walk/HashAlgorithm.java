@@ -0,0 +1,41 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.Collectors;
+
+interface HashAlgorithm {
+
+    List<HashAlgorithm> ALGORITHMS = List.of(
+            FnvHash.FNV1_32,
+            FnvHash.FNV1A_32,
+            FnvHash.FNV1_64,
+            FnvHash.FNV1A_64,
+            new XxHash64(),
+            new MessageDigestHash("sha-256", "SHA-256", 32),
+            new ChunkedHash(FnvHash.FNV1A_64),
+            new ChunkedHash(new XxHash64())
+    );
+
+    String getName();
+
+    int getDigestLength();
+
+    State newState();
+
+    interface State {
+        void update(ByteBuffer buffer);
+
+        byte[] digest();
+    }
+
+    static HashAlgorithm forName(String name) throws WalkException {
+        for (HashAlgorithm algorithm : ALGORITHMS) {
+            if (algorithm.getName().equals(name)) {
+                return algorithm;
+            }
+        }
+        throw new WalkException("Unknown hash algorithm: " + name + ", expected one of "
+                + ALGORITHMS.stream().map(HashAlgorithm::getName).collect(Collectors.joining(", ")));
+    }
+}
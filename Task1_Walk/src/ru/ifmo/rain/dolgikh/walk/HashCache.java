@@ -0,0 +1,162 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+class HashCache {
+
+    private static final int MAGIC = 0x57414c4b;
+    private static final int VERSION = 2;
+
+    private final Path cachePath;
+    private final HashAlgorithm algorithm;
+    private final WalkStatistics statistics;
+    private final Map<String, Entry> loaded;
+    private final ConcurrentMap<String, Entry> current = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private static class Entry {
+        private final long size;
+        private final long modified;
+        private final String fileKey;
+        private final byte[] hash;
+
+        Entry(long size, long modified, String fileKey, byte[] hash) {
+            this.size = size;
+            this.modified = modified;
+            this.fileKey = fileKey;
+            this.hash = hash;
+        }
+
+        Entry(BasicFileAttributes attributes, byte[] hash) {
+            this(attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), String.valueOf(attributes.fileKey()), hash);
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && modified == attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+                    && fileKey.equals(String.valueOf(attributes.fileKey()));
+        }
+    }
+
+    private HashCache(Path cachePath, HashAlgorithm algorithm, WalkStatistics statistics, Map<String, Entry> loaded) {
+        this.cachePath = cachePath;
+        this.algorithm = algorithm;
+        this.statistics = statistics;
+        this.loaded = loaded;
+    }
+
+    static HashCache load(String cacheName, HashAlgorithm algorithm, WalkStatistics statistics) throws WalkException {
+        Path cachePath;
+        try {
+            cachePath = Paths.get(cacheName);
+        } catch (InvalidPathException e) {
+            throw new WalkException("Cache file name is invalid");
+        }
+        Map<String, Entry> loaded = new HashMap<>();
+        if (Files.exists(cachePath)) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cachePath)))) {
+                if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                    throw new IOException("Unsupported cache format");
+                }
+                String algorithmName = input.readUTF();
+                if (!algorithmName.equals(algorithm.getName())) {
+                    throw new IOException("Cache was built with " + algorithmName);
+                }
+                for (int count = input.readInt(); count > 0; count--) {
+                    String fileName = input.readUTF();
+                    long size = input.readLong();
+                    long modified = input.readLong();
+                    String fileKey = input.readUTF();
+                    byte[] hash = new byte[algorithm.getDigestLength()];
+                    input.readFully(hash);
+                    loaded.put(fileName, new Entry(size, modified, fileKey, hash));
+                }
+            } catch (IOException e) {
+                System.out.println("Ignoring unreadable cache " + cachePath.getFileName() + ": " + e.getMessage());
+                loaded.clear();
+            }
+        }
+        return new HashCache(cachePath, algorithm, statistics, loaded);
+    }
+
+    byte[] getHash(String fileName, ForkJoinPool chunkPool) {
+        Path path;
+        BasicFileAttributes attributes;
+        try {
+            path = Paths.get(fileName);
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (InvalidPathException e) {
+            statistics.error(WalkStatistics.ErrorKind.INVALID_PATH);
+            return null;
+        } catch (IOException e) {
+            statistics.openError(e);
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return Walk.hashFile(fileName, algorithm, statistics, chunkPool);
+        }
+
+        String key = path.toAbsolutePath().toString();
+        Entry cached = loaded.get(key);
+        if (cached != null && cached.matches(attributes)) {
+            hits.increment();
+            statistics.fileCached();
+            current.put(key, cached);
+            return cached.hash;
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        try {
+            byte[] hash = FileHasher.getHash(path, algorithm, statistics, chunkPool);
+            statistics.fileHashed(System.nanoTime() - start);
+            current.put(key, new Entry(attributes, hash));
+            return hash;
+        } catch (IOException e) {
+            statistics.openError(e);
+        } catch (WalkException e) {
+            statistics.error(WalkStatistics.ErrorKind.READ_FAILED);
+            e.printMessage();
+        }
+        return null;
+    }
+
+    void save() throws WalkException {
+        try {
+            Path parent = cachePath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, cachePath.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeUTF(algorithm.getName());
+                output.writeInt(current.size());
+                for (Map.Entry<String, Entry> entry : current.entrySet()) {
+                    Entry value = entry.getValue();
+                    output.writeUTF(entry.getKey());
+                    output.writeLong(value.size);
+                    output.writeLong(value.modified);
+                    output.writeUTF(value.fileKey);
+                    output.write(value.hash);
+                }
+            }
+            Files.move(tmp, cachePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new WalkException("Error writing cache file: " + cachePath.getFileName());
+        }
+    }
+
+    void printReport() {
+        long served = hits.sum();
+        System.out.println("Cache: " + served + " of " + (served + misses.sum()) + " files served from " + cachePath.getFileName());
+    }
+}
@@ -0,0 +1,49 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+class MessageDigestHash implements HashAlgorithm {
+
+    private final String name;
+    private final String digestName;
+    private final int digestLength;
+
+    MessageDigestHash(String name, String digestName, int digestLength) {
+        this.name = name;
+        this.digestName = digestName;
+        this.digestLength = digestLength;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getDigestLength() {
+        return digestLength;
+    }
+
+    @Override
+    public State newState() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(digestName);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Missing required digest " + digestName, e);
+        }
+        return new State() {
+            @Override
+            public void update(ByteBuffer buffer) {
+                digest.update(buffer);
+            }
+
+            @Override
+            public byte[] digest() {
+                return digest.digest();
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class RecursiveWalk {
+
+    private final WalkContext context;
+    private final ResultWriter resultWriter;
+    private final ExecutorService pool;
+    private final Queue<Map.Entry<String, Future<byte[]>>> pending = new ArrayDeque<>();
+    private final int window;
+
+    private RecursiveWalk(WalkContext context, ResultWriter resultWriter) {
+        int threads = context.getOptions().getThreads();
+        this.context = context;
+        this.resultWriter = resultWriter;
+        this.pool = Executors.newFixedThreadPool(threads);
+        this.window = Walk.windowSize(threads);
+    }
+
+    public static void main(String[] args) {
+        Walk.run(args, RecursiveWalk::walk);
+    }
+
+    private static void walk(BufferedReader reader, Path inputPath, ResultWriter resultWriter, WalkContext context) throws WalkException {
+        WalkOptions options = context.getOptions();
+        if (options.isDuplicates() || options.isAsync()) {
+            throw new WalkException("-duplicates and -async are supported by Walk only");
+        }
+        RecursiveWalk recursiveWalk = new RecursiveWalk(context, resultWriter);
+        try {
+            String curFileName;
+            while ((curFileName = Walk.readLine(reader, inputPath)) != null) {
+                recursiveWalk.walkEntry(curFileName);
+            }
+            while (!recursiveWalk.pending.isEmpty()) {
+                Walk.writeResult(resultWriter, recursiveWalk.pending.poll());
+            }
+        } finally {
+            recursiveWalk.pool.shutdownNow();
+        }
+    }
+
+    private void walkEntry(String fileName) throws WalkException {
+        Path path;
+        try {
+            path = Paths.get(fileName);
+        } catch (InvalidPathException e) {
+            context.getStatistics().error(WalkStatistics.ErrorKind.INVALID_PATH);
+            enqueue(fileName, CompletableFuture.completedFuture(null));
+            return;
+        }
+        if (Files.isDirectory(path)) {
+            walkDirectory(path);
+        } else {
+            enqueue(fileName, pool.submit(() -> context.hash(fileName)));
+        }
+    }
+
+    private void walkDirectory(Path root) throws WalkException {
+        Deque<Iterator<Path>> directories = new ArrayDeque<>();
+        open(directories, root);
+        while (!directories.isEmpty()) {
+            Iterator<Path> entries = directories.peek();
+            if (!entries.hasNext()) {
+                directories.pop();
+                continue;
+            }
+            Path entry = entries.next();
+            if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                open(directories, entry);
+            } else {
+                String fileName = entry.toString();
+                enqueue(fileName, pool.submit(() -> context.hash(fileName)));
+            }
+        }
+    }
+
+    private void open(Deque<Iterator<Path>> directories, Path directory) throws WalkException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            context.getStatistics().error(WalkStatistics.ErrorKind.OPEN_FAILED);
+            enqueue(directory.toString(), CompletableFuture.completedFuture(null));
+            return;
+        }
+        entries.sort(Comparator.comparing(Path::getFileName));
+        directories.push(entries.iterator());
+    }
+
+    private void enqueue(String fileName, Future<byte[]> hash) throws WalkException {
+        if (pending.size() == window) {
+            Walk.writeResult(resultWriter, pending.poll());
+        }
+        pending.add(Map.entry(fileName, hash));
+    }
+}
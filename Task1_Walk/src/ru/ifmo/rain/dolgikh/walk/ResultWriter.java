@@ -0,0 +1,112 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class ResultWriter implements Closeable {
+
+    static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_CHAR_BYTES = 4;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] emptyHash;
+
+    ResultWriter(FileChannel channel, int bufferSize, int digestLength) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.emptyHash = new byte[digestLength];
+    }
+
+    static ResultWriter open(Path path, int digestLength) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new ResultWriter(channel, BUFFER_SIZE, digestLength);
+    }
+
+    void write(byte[] hash, String fileName) throws IOException {
+        writeEntry(hash, fileName);
+    }
+
+    void write(char marker, byte[] hash, String fileName) throws IOException {
+        ensure(2);
+        buffer.put((byte) marker);
+        buffer.put((byte) ' ');
+        writeEntry(hash, fileName);
+    }
+
+    private void writeEntry(byte[] hash, String fileName) throws IOException {
+        for (byte b : hash == null ? emptyHash : hash) {
+            ensure(2);
+            buffer.put(HEX_DIGITS[(b >> 4) & 0xf]);
+            buffer.put(HEX_DIGITS[b & 0xf]);
+        }
+        ensure(1);
+        buffer.put((byte) ' ');
+        writeLine(fileName);
+    }
+
+    void writeLine(String line) throws IOException {
+        int length = line.length();
+        for (int i = 0; i < length; i++) {
+            ensure(MAX_CHAR_BYTES);
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xc0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(line.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, line.charAt(++i));
+                buffer.put((byte) (0xf0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xe0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+        newLine();
+    }
+
+    void finish() throws IOException {
+    }
+
+    void newLine() throws IOException {
+        ensure(LINE_SEPARATOR.length);
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
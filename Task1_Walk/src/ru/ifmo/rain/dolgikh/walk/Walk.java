@@ -4,105 +4,215 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class Walk {
 
+    private static final int TASKS_PER_THREAD = 16;
+
+    interface Walker {
+        void walk(BufferedReader reader, Path inputPath, ResultWriter resultWriter, WalkContext context) throws WalkException;
+    }
+
     public static void main(String[] args) {
-        if (args == null || args.length != 2 || args[0] != null || args[1] != null) {
+        run(args, Walk::walk);
+    }
+
+    static void run(String[] args, Walker walker) {
+        if (args == null) {
             return;
         }
+        WalkStatistics statistics = new WalkStatistics();
+        WalkOptions options = null;
+        ScheduledExecutorService progress = null;
         try {
+            options = WalkOptions.parse(args);
             Path inputPath;
             Path outputPath;
             try {
-                try {
-                    inputPath = Paths.get(args[0]);
-                } catch (InvalidPathException e) {
-                    throw new WalkException("Input file name is invalid");
-                }
-                try {
-                    outputPath = Paths.get(args[1]);
-                } catch (InvalidPathException e) {
-                    throw new WalkException("Output file name is invalid");
-                }
-                try {
-                    if (Files.notExists(outputPath)) {
-                        if (outputPath.getParent() != null) {
-                            Files.createDirectories(outputPath.getParent());
-                        }
-                    }
-                } catch (IOException e) {
-                    throw new WalkException("Can't create directories :" + outputPath.getParent().toString());
-                }
-            } catch (ArrayIndexOutOfBoundsException e) {
-                throw new WalkException("Not enough arguments");
-            } catch (NullPointerException e){
-                throw new WalkException("Empty argument list");
+                inputPath = Paths.get(options.getInputName());
+            } catch (InvalidPathException e) {
+                throw new WalkException("Input file name is invalid");
+            }
+            try {
+                outputPath = Paths.get(options.getOutputName());
+            } catch (InvalidPathException e) {
+                throw new WalkException("Output file name is invalid");
             }
-
-            List<String> stringList;
             try {
-                stringList = Files.readAllLines(inputPath, StandardCharsets.UTF_8);
-            } catch (FileNotFoundException e) {
-                throw new WalkException("No such input file: " + inputPath.getFileName());
-            } catch (SecurityException e) {
-                throw new WalkException("There is no access to input file: " + inputPath.getFileName());
+                if (Files.notExists(outputPath)) {
+                    if (outputPath.getParent() != null) {
+                        Files.createDirectories(outputPath.getParent());
+                    }
+                }
             } catch (IOException e) {
-                throw new WalkException("Error file reading: " + inputPath.getFileName());
+                throw new WalkException("Can't create directories :" + outputPath.getParent().toString());
             }
 
-            try (BufferedWriter bufferedWriter = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
-                for (String curFileName : stringList) {
-                    int hash = 0;
-                    try {
-                        Path curfile = Paths.get(curFileName);
-                        InputStream inputStream = Files.newInputStream(curfile);
-                        hash = getHash(inputStream);
-                    } catch (InvalidPathException | IOException ignored) {
-                    } catch (WalkException e) {
-                        e.printMessage();
-                    }
+            HashAlgorithm algorithm = options.getAlgorithm();
+            Map<String, byte[]> baseline = options.getBaselineName() == null ? null : BaselineWriter.load(options.getBaselineName(), algorithm);
+            HashCache cache = options.getCacheName() == null ? null : HashCache.load(options.getCacheName(), algorithm, statistics);
+            if (options.getProgressPeriod() > 0) {
+                progress = statistics.startProgress(options.getProgressPeriod());
+            }
 
-                    try {
-                        bufferedWriter.write(String.format("%08x", hash) + " " + curFileName);
-                        bufferedWriter.newLine();
-                    } catch (IOException e) {
-                        System.out.println("Can't write");
-                    }
-                }
-            } catch (FileNotFoundException e) {
-                throw new WalkException("Output file doesn't exists: " + outputPath.getFileName());
-            } catch (SecurityException e) {
-                throw new WalkException("There is no access to output file: " + outputPath.getFileName());
-            } catch (UnsupportedEncodingException e) {
-                throw new WalkException("Unsupported character encoding in file: " + outputPath.getFileName());
+            try (WalkContext context = new WalkContext(options, cache, statistics);
+                 BufferedReader reader = newReader(inputPath);
+                 ResultWriter resultWriter = newWriter(outputPath, options.getBaselineName(), baseline, algorithm.getDigestLength())) {
+                walker.walk(reader, inputPath, resultWriter, context);
+                resultWriter.finish();
             } catch (IOException e) {
                 throw new WalkException("Error writing to file: " + outputPath.getFileName());
             }
+
+            if (cache != null) {
+                cache.save();
+                cache.printReport();
+            }
         } catch (WalkException e) {
+            statistics.error(WalkStatistics.ErrorKind.FATAL);
             e.printMessage();
+        } finally {
+            if (progress != null) {
+                progress.shutdownNow();
+            }
+        }
+        if (options != null && options.getStatsFormat() != null) {
+            System.out.println(options.getStatsFormat().equals("json") ? statistics.toJson() : statistics.toText());
+        }
+    }
+
+    private static BufferedReader newReader(Path inputPath) throws WalkException {
+        try {
+            return Files.newBufferedReader(inputPath, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            throw new WalkException("No such input file: " + inputPath.getFileName());
+        } catch (SecurityException e) {
+            throw new WalkException("There is no access to input file: " + inputPath.getFileName());
+        } catch (IOException e) {
+            throw new WalkException("Error file reading: " + inputPath.getFileName());
+        }
+    }
+
+    private static ResultWriter newWriter(Path outputPath, String baselineName, Map<String, byte[]> baseline, int digestLength) throws WalkException {
+        try {
+            return baseline == null
+                    ? ResultWriter.open(outputPath, digestLength)
+                    : BaselineWriter.open(outputPath, baselineName, baseline, digestLength);
+        } catch (SecurityException e) {
+            throw new WalkException("There is no access to output file: " + outputPath.getFileName());
+        } catch (IOException e) {
+            throw new WalkException("Error writing to file: " + outputPath.getFileName());
         }
     }
 
+    static String readLine(BufferedReader reader, Path inputPath) throws WalkException {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new WalkException("Error file reading: " + inputPath.getFileName());
+        }
+    }
+
+    private static void walk(BufferedReader reader, Path inputPath, ResultWriter resultWriter, WalkContext context) throws WalkException {
+        WalkOptions options = context.getOptions();
+        if (options.isDuplicates()) {
+            DuplicateFinder.walk(reader, inputPath, resultWriter, context);
+        } else if (options.isAsync()) {
+            AsyncWalk.walk(reader, inputPath, resultWriter, context);
+        } else if (options.getThreads() == 1) {
+            String curFileName;
+            while ((curFileName = readLine(reader, inputPath)) != null) {
+                writeResult(resultWriter, context.hash(curFileName), curFileName);
+            }
+        } else {
+            writeParallel(reader, inputPath, resultWriter, context);
+        }
+    }
 
-    private static int getHash(InputStream reader) throws WalkException {
-        int hash = 0x811c9dc5;
-        byte[] buff = new byte[1024];
-        int c;
+    private static void writeParallel(BufferedReader reader, Path inputPath, ResultWriter resultWriter, WalkContext context) throws WalkException {
+        int threads = context.getOptions().getThreads();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Queue<Map.Entry<String, Future<byte[]>>> pending = new ArrayDeque<>();
+        int window = windowSize(threads);
         try {
-            while ((c = reader.read(buff)) >= 0) {
-                for (int i = 0; i < c; i++) {
-                    hash = (hash * 0x01000193) ^ (buff[i] & 0xff);
+            String curFileName;
+            while ((curFileName = readLine(reader, inputPath)) != null) {
+                if (pending.size() == window) {
+                    writeResult(resultWriter, pending.poll());
                 }
+                String fileName = curFileName;
+                pending.add(Map.entry(fileName, pool.submit(() -> context.hash(fileName))));
             }
+            while (!pending.isEmpty()) {
+                writeResult(resultWriter, pending.poll());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    static int windowSize(int threads) {
+        return threads * TASKS_PER_THREAD;
+    }
+
+    static <T> T await(Future<T> result) throws WalkException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WalkException("Hashing interrupted");
+        } catch (ExecutionException e) {
+            throw new WalkException("Error hashing: " + e.getCause().getMessage());
+        }
+    }
+
+    static void writeResult(ResultWriter resultWriter, Map.Entry<String, Future<byte[]>> result) throws WalkException {
+        writeResult(resultWriter, await(result.getValue()), result.getKey());
+    }
+
+    static void writeResult(ResultWriter resultWriter, byte[] hash, String fileName) {
+        try {
+            resultWriter.write(hash, fileName);
+        } catch (IOException e) {
+            System.out.println("Can't write");
+        }
+    }
+
+    static void writeLine(ResultWriter resultWriter, String line) {
+        try {
+            resultWriter.writeLine(line);
         } catch (IOException e) {
-            throw new WalkException("Error reading");
+            System.out.println("Can't write");
         }
+    }
 
-        return hash;
+    static byte[] hashFile(String fileName, HashAlgorithm algorithm, WalkStatistics statistics, ForkJoinPool chunkPool) {
+        long start = System.nanoTime();
+        try {
+            byte[] hash = FileHasher.getHash(Paths.get(fileName), algorithm, statistics, chunkPool);
+            statistics.fileHashed(System.nanoTime() - start);
+            return hash;
+        } catch (InvalidPathException e) {
+            statistics.error(WalkStatistics.ErrorKind.INVALID_PATH);
+        } catch (IOException e) {
+            statistics.openError(e);
+        } catch (WalkException e) {
+            statistics.error(WalkStatistics.ErrorKind.READ_FAILED);
+            e.printMessage();
+        }
+        return null;
     }
 
 }
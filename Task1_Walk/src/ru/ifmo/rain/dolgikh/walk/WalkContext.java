@@ -0,0 +1,42 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.util.concurrent.ForkJoinPool;
+
+class WalkContext implements AutoCloseable {
+
+    private final WalkOptions options;
+    private final HashCache cache;
+    private final WalkStatistics statistics;
+    private final ForkJoinPool chunkPool;
+
+    WalkContext(WalkOptions options, HashCache cache, WalkStatistics statistics) {
+        this.options = options;
+        this.cache = cache;
+        this.statistics = statistics;
+        this.chunkPool = new ForkJoinPool(options.getThreads());
+    }
+
+    WalkOptions getOptions() {
+        return options;
+    }
+
+    HashAlgorithm getAlgorithm() {
+        return options.getAlgorithm();
+    }
+
+    byte[] hash(String fileName) {
+        if (cache == null) {
+            return Walk.hashFile(fileName, options.getAlgorithm(), statistics, chunkPool);
+        }
+        return cache.getHash(fileName, chunkPool);
+    }
+
+    WalkStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        chunkPool.shutdownNow();
+    }
+}
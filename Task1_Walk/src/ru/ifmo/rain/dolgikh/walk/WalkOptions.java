@@ -0,0 +1,144 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+class WalkOptions {
+
+    private static final String USAGE = "Usage: Walk|RecursiveWalk [-threads <n>] [-cache <file>] [-baseline <previous output>] [-hash <algorithm>] [-duplicates] [-async <reads in flight>] [-progress <seconds>] [-stats text|json] <input file> <output file>";
+
+    private String inputName;
+    private String outputName;
+    private int threads = 1;
+    private String cacheName;
+    private String baselineName;
+    private HashAlgorithm algorithm = FnvHash.FNV1_32;
+    private boolean duplicates;
+    private int readsInFlight;
+    private int progressPeriod;
+    private String statsFormat;
+
+    private WalkOptions() {
+    }
+
+    static WalkOptions parse(String[] args) throws WalkException {
+        WalkOptions options = new WalkOptions();
+        int i = 0;
+        while (args.length - i > 2) {
+            String option = args[i++];
+            if (option == null) {
+                throw new WalkException("Empty argument list");
+            }
+            switch (option) {
+                case "-threads":
+                    options.threads = parsePositive(option, args[i++]);
+                    break;
+                case "-cache":
+                    options.cacheName = args[i++];
+                    if (options.cacheName == null) {
+                        throw new WalkException("Empty cache file name");
+                    }
+                    break;
+                case "-baseline":
+                    options.baselineName = args[i++];
+                    if (options.baselineName == null) {
+                        throw new WalkException("Empty baseline file name");
+                    }
+                    break;
+                case "-hash":
+                    options.algorithm = HashAlgorithm.forName(args[i++]);
+                    break;
+                case "-duplicates":
+                    options.duplicates = true;
+                    break;
+                case "-async":
+                    options.readsInFlight = parsePositive(option, args[i++]);
+                    break;
+                case "-progress":
+                    options.progressPeriod = parsePositive(option, args[i++]);
+                    break;
+                case "-stats":
+                    options.statsFormat = args[i++];
+                    if (!"text".equals(options.statsFormat) && !"json".equals(options.statsFormat)) {
+                        throw new WalkException("Statistics format should be text or json: " + options.statsFormat);
+                    }
+                    break;
+                default:
+                    throw new WalkException("Unknown option: " + option + System.lineSeparator() + USAGE);
+            }
+        }
+        if (args.length - i != 2) {
+            throw new WalkException("Not enough arguments" + System.lineSeparator() + USAGE);
+        }
+        options.inputName = args[i];
+        options.outputName = args[i + 1];
+        if (options.inputName == null || options.outputName == null) {
+            throw new WalkException("Empty argument list");
+        }
+        if (options.isAsync() && (options.cacheName != null || options.duplicates)) {
+            throw new WalkException("-async can't be combined with -cache or -duplicates");
+        }
+        if (options.baselineName != null) {
+            if (options.isAsync() || options.duplicates) {
+                throw new WalkException("-baseline can't be combined with -async or -duplicates");
+            }
+            if (options.cacheName == null) {
+                options.cacheName = options.baselineName + ".cache";
+            }
+        }
+        return options;
+    }
+
+    private static int parsePositive(String option, String value) throws WalkException {
+        try {
+            int result = Integer.parseInt(value);
+            if (result <= 0) {
+                throw new WalkException("Positive number expected for " + option + ": " + value);
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new WalkException("Integer number expected for " + option + ": " + value);
+        }
+    }
+
+    String getInputName() {
+        return inputName;
+    }
+
+    String getOutputName() {
+        return outputName;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    String getCacheName() {
+        return cacheName;
+    }
+
+    String getBaselineName() {
+        return baselineName;
+    }
+
+    HashAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    boolean isDuplicates() {
+        return duplicates;
+    }
+
+    boolean isAsync() {
+        return readsInFlight > 0;
+    }
+
+    int getReadsInFlight() {
+        return readsInFlight;
+    }
+
+    int getProgressPeriod() {
+        return progressPeriod;
+    }
+
+    String getStatsFormat() {
+        return statsFormat;
+    }
+}
@@ -0,0 +1,162 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.NoSuchFileException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+class WalkStatistics {
+
+    enum ErrorKind {
+        INVALID_PATH("invalidPath"),
+        NO_SUCH_FILE("noSuchFile"),
+        ACCESS_DENIED("accessDenied"),
+        OPEN_FAILED("openFailed"),
+        READ_FAILED("readFailed"),
+        FATAL("fatal");
+
+        private final String key;
+
+        ErrorKind(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final int LATENCY_BUCKETS = 40;
+
+    private final long start = System.nanoTime();
+    private final LongAdder files = new LongAdder();
+    private final LongAdder cachedFiles = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder ioNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder mappedNanos = new LongAdder();
+    private final AtomicLongArray latency = new AtomicLongArray(LATENCY_BUCKETS);
+    private final Map<ErrorKind, LongAdder> errors = new EnumMap<>(ErrorKind.class);
+
+    WalkStatistics() {
+        for (ErrorKind kind : ErrorKind.values()) {
+            errors.put(kind, new LongAdder());
+        }
+    }
+
+    void fileHashed(long nanos) {
+        files.increment();
+        long micros = Math.max(nanos / 1000, 1);
+        latency.incrementAndGet(Math.min(63 - Long.numberOfLeadingZeros(micros), LATENCY_BUCKETS - 1));
+    }
+
+    void fileCached() {
+        files.increment();
+        cachedFiles.increment();
+    }
+
+    void bytesRead(long count) {
+        bytes.add(count);
+    }
+
+    void ioTime(long nanos) {
+        ioNanos.add(nanos);
+    }
+
+    void hashTime(long nanos) {
+        hashNanos.add(nanos);
+    }
+
+    void mappedTime(long nanos) {
+        mappedNanos.add(nanos);
+    }
+
+    void error(ErrorKind kind) {
+        errors.get(kind).increment();
+    }
+
+    void openError(IOException e) {
+        if (e instanceof NoSuchFileException) {
+            error(ErrorKind.NO_SUCH_FILE);
+        } else if (e instanceof AccessDeniedException) {
+            error(ErrorKind.ACCESS_DENIED);
+        } else {
+            error(ErrorKind.OPEN_FAILED);
+        }
+    }
+
+    private long errorCount() {
+        long count = 0;
+        for (LongAdder adder : errors.values()) {
+            count += adder.sum();
+        }
+        return count;
+    }
+
+    private double elapsedSeconds() {
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    ScheduledExecutorService startProgress(int periodSeconds) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "walk-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> System.err.println(progressLine()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return reporter;
+    }
+
+    String progressLine() {
+        double elapsed = elapsedSeconds();
+        return String.format(Locale.ROOT, "Progress: %d files (%d cached), %.1f MB, %.1f MB/s, %.1f files/s, %d errors",
+                files.sum(), cachedFiles.sum(), bytes.sum() / 1e6, bytes.sum() / 1e6 / elapsed, files.sum() / elapsed, errorCount());
+    }
+
+    String toText() {
+        StringBuilder sb = new StringBuilder(progressLine().replace("Progress:", "Summary:"));
+        sb.append(String.format(Locale.ROOT, ", %.2f s elapsed, %.2f s waiting for reads, %.2f s hashing, %.2f s in mapped reads and hashing",
+                elapsedSeconds(), ioNanos.sum() / 1e9, hashNanos.sum() / 1e9, mappedNanos.sum() / 1e9));
+        for (ErrorKind kind : ErrorKind.values()) {
+            long count = errors.get(kind).sum();
+            if (count > 0) {
+                sb.append(System.lineSeparator()).append("  ").append(kind.key).append(": ").append(count);
+            }
+        }
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            long count = latency.get(i);
+            if (count > 0) {
+                sb.append(System.lineSeparator()).append("  latency < ").append(1L << (i + 1)).append(" us: ").append(count);
+            }
+        }
+        return sb.toString();
+    }
+
+    String toJson() {
+        double elapsed = elapsedSeconds();
+        StringBuilder sb = new StringBuilder("{");
+        sb.append(String.format(Locale.ROOT, "\"elapsedSeconds\":%.3f,\"files\":%d,\"cachedFiles\":%d,\"bytes\":%d,"
+                        + "\"bytesPerSecond\":%.1f,\"filesPerSecond\":%.1f,\"ioWaitSeconds\":%.3f,\"hashSeconds\":%.3f,\"mappedSeconds\":%.3f,",
+                elapsed, files.sum(), cachedFiles.sum(), bytes.sum(),
+                bytes.sum() / elapsed, files.sum() / elapsed, ioNanos.sum() / 1e9, hashNanos.sum() / 1e9, mappedNanos.sum() / 1e9));
+        sb.append("\"errors\":{");
+        String separator = "";
+        for (ErrorKind kind : ErrorKind.values()) {
+            sb.append(separator).append('"').append(kind.key).append("\":").append(errors.get(kind).sum());
+            separator = ",";
+        }
+        sb.append("},\"latencyMicros\":[");
+        separator = "";
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            long count = latency.get(i);
+            if (count > 0) {
+                sb.append(separator).append("{\"lessThan\":").append(1L << (i + 1)).append(",\"count\":").append(count).append('}');
+                separator = ",";
+            }
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,119 @@
+package ru.ifmo.rain.dolgikh.walk;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+class XxHash64 implements HashAlgorithm {
+
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+
+    private static final int STRIPE = 32;
+
+    @Override
+    public String getName() {
+        return "xxh64";
+    }
+
+    @Override
+    public int getDigestLength() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public State newState() {
+        return new XxState();
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * PRIME_2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * PRIME_1;
+    }
+
+    private static long mergeRound(long accumulator, long value) {
+        accumulator ^= round(0, value);
+        return accumulator * PRIME_1 + PRIME_4;
+    }
+
+    private static class XxState implements State {
+        private final ByteBuffer pending = ByteBuffer.allocate(STRIPE).order(ByteOrder.LITTLE_ENDIAN);
+        private long v1 = PRIME_1 + PRIME_2;
+        private long v2 = PRIME_2;
+        private long v3 = 0;
+        private long v4 = -PRIME_1;
+        private long total;
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            total += buffer.remaining();
+            if (pending.position() > 0) {
+                while (pending.hasRemaining() && buffer.hasRemaining()) {
+                    pending.put(buffer.get());
+                }
+                if (pending.hasRemaining()) {
+                    return;
+                }
+                stripe(pending, 0);
+                pending.clear();
+            }
+
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            int i = buffer.position();
+            int limit = buffer.limit();
+            for (; i + STRIPE <= limit; i += STRIPE) {
+                stripe(buffer, i);
+            }
+            buffer.position(i);
+            pending.put(buffer);
+        }
+
+        private void stripe(ByteBuffer buffer, int offset) {
+            v1 = round(v1, buffer.getLong(offset));
+            v2 = round(v2, buffer.getLong(offset + 8));
+            v3 = round(v3, buffer.getLong(offset + 16));
+            v4 = round(v4, buffer.getLong(offset + 24));
+        }
+
+        @Override
+        public byte[] digest() {
+            long hash;
+            if (total >= STRIPE) {
+                hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+                hash = mergeRound(hash, v1);
+                hash = mergeRound(hash, v2);
+                hash = mergeRound(hash, v3);
+                hash = mergeRound(hash, v4);
+            } else {
+                hash = PRIME_5;
+            }
+            hash += total;
+
+            int i = 0;
+            int limit = pending.position();
+            for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+                hash ^= round(0, pending.getLong(i));
+                hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_4;
+            }
+            if (i + Integer.BYTES <= limit) {
+                hash ^= (pending.getInt(i) & 0xFFFFFFFFL) * PRIME_1;
+                hash = Long.rotateLeft(hash, 23) * PRIME_2 + PRIME_3;
+                i += Integer.BYTES;
+            }
+            for (; i < limit; i++) {
+                hash ^= (pending.get(i) & 0xff) * PRIME_5;
+                hash = Long.rotateLeft(hash, 11) * PRIME_1;
+            }
+
+            hash ^= hash >>> 33;
+            hash *= PRIME_2;
+            hash ^= hash >>> 29;
+            hash *= PRIME_3;
+            hash ^= hash >>> 32;
+            return ByteBuffer.allocate(Long.BYTES).putLong(hash).array();
+        }
+    }
+}
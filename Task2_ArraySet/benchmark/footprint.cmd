@@ -0,0 +1,3 @@
+rm -rf classes
+mkdir classes
+javac -cp "$JMH/*" -d classes ../src/ru/ifmo/rain/dolgikh/arrayset/*.java src/ru/ifmo/rain/dolgikh/arrayset/*.java && java -Xmx4g -cp "classes:$JMH/*" ru.ifmo.rain.dolgikh.arrayset.Footprint "$@"
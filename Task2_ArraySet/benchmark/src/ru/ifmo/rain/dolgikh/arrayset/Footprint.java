@@ -0,0 +1,47 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.function.Function;
+
+public class Footprint {
+
+    private static final String[] IMPLEMENTATIONS = {"ArraySet", "TreeSet", "ConcurrentSkipListSet", "array"};
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Integer> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(2 * i);
+        }
+        List<Object> retained = new ArrayList<>();
+        System.out.println("Bytes per element for " + size + " elements, excluding the elements themselves:");
+        for (String implementation : IMPLEMENTATIONS) {
+            long before = usedMemory();
+            retained.add(build(implementation, elements));
+            long after = usedMemory();
+            System.out.printf("%-24s %8.2f%n", implementation, (double) (after - before) / size);
+        }
+        System.out.println(retained.size() + " structures measured");
+    }
+
+    private static Object build(String implementation, Collection<Integer> elements) {
+        Function<Collection<Integer>, NavigableSet<Integer>> factory = SetComparisonBenchmark.factory(implementation);
+        if (factory == null) {
+            return elements.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return factory.apply(elements);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
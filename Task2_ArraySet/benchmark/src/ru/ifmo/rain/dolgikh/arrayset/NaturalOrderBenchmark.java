@@ -0,0 +1,106 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx24g")
+public class NaturalOrderBenchmark {
+
+    private static final int LOOKUPS = 1 << 12;
+
+    @Param({"1000", "1000000", "100000000"})
+    private int size;
+
+    @Param({"integer", "long", "string"})
+    private String type;
+
+    private ArraySet<Object> primitive;
+    private ArraySet<Object> natural;
+    private ArraySet<Object> generic;
+    private List<Object> list;
+    private Object[] keys;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        IntFunction<Object> element = element(type);
+        List<Object> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(element.apply(2 * i));
+        }
+        natural = new ArraySet<>(elements);
+        primitive = natural.withPrimitiveKeys();
+        generic = new ArraySet<>(elements, (Comparator<Object>) (Comparator<?>) Comparator.naturalOrder());
+        list = elements;
+        Random random = new Random(3472);
+        keys = new Object[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            keys[i] = element.apply(random.nextInt(2 * size));
+        }
+    }
+
+    private static IntFunction<Object> element(String type) {
+        switch (type) {
+            case "integer":
+                return i -> i;
+            case "long":
+                return i -> (long) i;
+            default:
+                return i -> String.format("key%09d", i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int containsPrimitive() {
+        return contains(primitive);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int containsNatural() {
+        return contains(natural);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int containsGeneric() {
+        return contains(generic);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    @SuppressWarnings("unchecked")
+    public int collectionsBinarySearch() {
+        List<Comparable<Object>> comparables = (List<Comparable<Object>>) (List<?>) list;
+        int found = 0;
+        for (Object key : keys) {
+            if (Collections.binarySearch(comparables, key) >= 0) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private int contains(ArraySet<Object> set) {
+        int found = 0;
+        for (Object key : keys) {
+            if (set.contains(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
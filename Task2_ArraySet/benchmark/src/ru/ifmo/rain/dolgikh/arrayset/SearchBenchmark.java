@@ -0,0 +1,85 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class SearchBenchmark {
+
+    private static final int LOOKUPS = 1 << 12;
+
+    @Param({"1000", "1000000", "30000000"})
+    private int size;
+
+    private ArraySet<Integer> binary;
+    private ArraySet<Integer> indexed;
+    private Integer[] keys;
+
+    @Setup
+    public void setUp() {
+        List<Integer> elements = IntStream.range(0, size).map(i -> 2 * i).boxed().collect(Collectors.toList());
+        binary = new ArraySet<>(elements, Comparator.naturalOrder());
+        indexed = binary.withSearchIndex();
+        Random random = new Random(3472);
+        keys = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            keys[i] = random.nextInt(2 * size);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int containsBinary() {
+        return contains(binary);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int containsIndexed() {
+        return contains(indexed);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long ceilingBinary() {
+        return ceiling(binary);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long ceilingIndexed() {
+        return ceiling(indexed);
+    }
+
+    private int contains(ArraySet<Integer> set) {
+        int found = 0;
+        for (Integer key : keys) {
+            if (set.contains(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private long ceiling(ArraySet<Integer> set) {
+        long sum = 0;
+        for (Integer key : keys) {
+            Integer ceiling = set.ceiling(key);
+            if (ceiling != null) {
+                sum += ceiling;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,159 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class SetComparisonBenchmark {
+
+    private static final int LOOKUPS = 1 << 12;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    @Param({"ArraySet", "TreeSet", "ConcurrentSkipListSet", "array"})
+    private String implementation;
+
+    private Function<Collection<Integer>, NavigableSet<Integer>> factory;
+    private List<Integer> shuffled;
+    private NavigableSet<Integer> set;
+    private int[] array;
+    private int[] keys;
+    private Integer[] boxedKeys;
+
+    @Setup
+    public void setUp() {
+        factory = factory(implementation);
+        shuffled = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shuffled.add(2 * i);
+        }
+        Collections.shuffle(shuffled, new Random(3472));
+        array = shuffled.stream().mapToInt(Integer::intValue).sorted().toArray();
+        set = factory == null ? null : factory.apply(shuffled);
+        Random random = new Random(2019);
+        keys = new int[LOOKUPS];
+        boxedKeys = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            keys[i] = random.nextInt(2 * size);
+            boxedKeys[i] = keys[i];
+        }
+    }
+
+    static Function<Collection<Integer>, NavigableSet<Integer>> factory(String implementation) {
+        switch (implementation) {
+            case "ArraySet":
+                return ArraySet::new;
+            case "TreeSet":
+                return TreeSet::new;
+            case "ConcurrentSkipListSet":
+                return ConcurrentSkipListSet::new;
+            case "array":
+                return null;
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int contains() {
+        int found = 0;
+        if (set == null) {
+            for (int key : keys) {
+                if (Arrays.binarySearch(array, key) >= 0) {
+                    found++;
+                }
+            }
+        } else {
+            for (Integer key : boxedKeys) {
+                if (set.contains(key)) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void headSet(Blackhole blackhole) {
+        if (set == null) {
+            for (int key : keys) {
+                blackhole.consume(insertionPoint(key));
+            }
+        } else {
+            for (Integer key : boxedKeys) {
+                blackhole.consume(set.headSet(key));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void tailSet(Blackhole blackhole) {
+        if (set == null) {
+            for (int key : keys) {
+                blackhole.consume(array.length - insertionPoint(key));
+            }
+        } else {
+            for (Integer key : boxedKeys) {
+                blackhole.consume(set.tailSet(key));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void subSet(Blackhole blackhole) {
+        if (set == null) {
+            for (int key : keys) {
+                blackhole.consume(insertionPoint(key + size / 2) - insertionPoint(key));
+            }
+        } else {
+            for (Integer key : boxedKeys) {
+                blackhole.consume(set.subSet(key, key + size / 2));
+            }
+        }
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        if (set == null) {
+            for (int element : array) {
+                sum += element;
+            }
+        } else {
+            for (Integer element : set) {
+                sum += element;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object construct() {
+        if (set == null) {
+            int[] result = shuffled.stream().mapToInt(Integer::intValue).toArray();
+            Arrays.sort(result);
+            return result;
+        }
+        return factory.apply(shuffled);
+    }
+
+    private int insertionPoint(int key) {
+        int found = Arrays.binarySearch(array, key);
+        return found < 0 ? -found - 1 : found;
+    }
+}
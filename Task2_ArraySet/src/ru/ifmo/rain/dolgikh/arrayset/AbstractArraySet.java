@@ -0,0 +1,211 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.util.*;
+
+abstract class AbstractArraySet<T> extends AbstractSet<T> implements NavigableSet<T> {
+
+    final int mFrom;
+    final int mTo;
+    final boolean mDescending;
+
+    AbstractArraySet(int from, int to, boolean descending) {
+        mFrom = from;
+        mTo = to;
+        mDescending = descending;
+    }
+
+    abstract T get(int index);
+
+    abstract int search(Object key);
+
+    abstract Comparator<? super T> ascendingComparator();
+
+    abstract AbstractArraySet<T> view(int from, int to, boolean descending);
+
+    private static int lowerBound(int found, boolean inclusive) {
+        if (found < 0) {
+            return -found - 2;
+        }
+        return inclusive ? found : found - 1;
+    }
+
+    private static int upperBound(int found, boolean inclusive) {
+        if (found < 0) {
+            return -found - 1;
+        }
+        return inclusive ? found : found + 1;
+    }
+
+    int below(int found, boolean inclusive) {
+        return mDescending ? upperBound(found, inclusive) : lowerBound(found, inclusive);
+    }
+
+    int above(int found, boolean inclusive) {
+        return mDescending ? lowerBound(found, inclusive) : upperBound(found, inclusive);
+    }
+
+    T at(int position) {
+        return get(mDescending ? mTo - 1 - position : mFrom + position);
+    }
+
+    boolean inRange(int index) {
+        return mFrom <= index && index < mTo;
+    }
+
+    private T elementAt(int index) {
+        return inRange(index) ? get(index) : null;
+    }
+
+    private int firstIndex() {
+        return mDescending ? mTo - 1 : mFrom;
+    }
+
+    private int lastIndex() {
+        return mDescending ? mFrom : mTo - 1;
+    }
+
+    @Override
+    public int size() {
+        return mTo - mFrom;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return search(o) >= 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private final int step = mDescending ? -1 : 1;
+            private int next = firstIndex();
+
+            @Override
+            public boolean hasNext() {
+                return inRange(next);
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result = get(next);
+                next += step;
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    @Override
+    public NavigableSet<T> descendingSet() {
+        return view(mFrom, mTo, !mDescending);
+    }
+
+    @Override
+    public T lower(T t) {
+        return elementAt(below(search(t), false));
+    }
+
+    @Override
+    public T floor(T t) {
+        return elementAt(below(search(t), true));
+    }
+
+    @Override
+    public T ceiling(T t) {
+        return elementAt(above(search(t), true));
+    }
+
+    @Override
+    public T higher(T t) {
+        return elementAt(above(search(t), false));
+    }
+
+    @Override
+    public T first() {
+        emptyChecker();
+        return get(firstIndex());
+    }
+
+    @Override
+    public T last() {
+        emptyChecker();
+        return get(lastIndex());
+    }
+
+    private void emptyChecker() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public T pollFirst() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public T pollLast() {
+        throw new UnsupportedOperationException();
+    }
+
+    private NavigableSet<T> range(int first, int last) {
+        int from = mDescending ? last : first;
+        int to = (mDescending ? first : last) + 1;
+        return view(from, Math.max(from, to), mDescending);
+    }
+
+    @Override
+    public NavigableSet<T> subSet(T fromElement, boolean fromInclusive, T toElement, boolean toInclusive) {
+        if (compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException();
+        }
+        return range(above(search(fromElement), fromInclusive), below(search(toElement), toInclusive));
+    }
+
+    @Override
+    public NavigableSet<T> headSet(T toElement, boolean inclusive) {
+        return range(firstIndex(), below(search(toElement), inclusive));
+    }
+
+    @Override
+    public NavigableSet<T> tailSet(T fromElement, boolean inclusive) {
+        return range(above(search(fromElement), inclusive), lastIndex());
+    }
+
+    @Override
+    public SortedSet<T> subSet(T fromElement, T toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<T> headSet(T toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(T a, T b) {
+        Comparator<? super T> comparator = comparator();
+        return comparator == null ? ((Comparable<? super T>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+    @Override
+    public Comparator<? super T> comparator() {
+        Comparator<? super T> comparator = ascendingComparator();
+        if (!mDescending) {
+            return comparator;
+        }
+        return comparator == null ? Collections.reverseOrder() : comparator.reversed();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.util.Comparator;
+
+abstract class AbstractIntArraySet extends AbstractArraySet<Integer> {
+
+    AbstractIntArraySet(int from, int to, boolean descending) {
+        super(from, to, descending);
+    }
+
+    abstract int getInt(int index);
+
+    @Override
+    Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    int search(Object key) {
+        return search((int) (Integer) key);
+    }
+
+    int search(int key) {
+        int low = mFrom;
+        int high = mTo - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = getInt(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @Override
+    Comparator<? super Integer> ascendingComparator() {
+        return null;
+    }
+
+    public boolean contains(int key) {
+        return search(key) >= 0;
+    }
+
+    public int lower(int key, int ifAbsent) {
+        return valueAt(below(search(key), false), ifAbsent);
+    }
+
+    public int floor(int key, int ifAbsent) {
+        return valueAt(below(search(key), true), ifAbsent);
+    }
+
+    public int ceiling(int key, int ifAbsent) {
+        return valueAt(above(search(key), true), ifAbsent);
+    }
+
+    public int higher(int key, int ifAbsent) {
+        return valueAt(above(search(key), false), ifAbsent);
+    }
+
+    private int valueAt(int index, int ifAbsent) {
+        return inRange(index) ? getInt(index) : ifAbsent;
+    }
+}
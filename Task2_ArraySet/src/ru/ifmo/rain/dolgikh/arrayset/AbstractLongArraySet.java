@@ -0,0 +1,68 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.util.Comparator;
+
+abstract class AbstractLongArraySet extends AbstractArraySet<Long> {
+
+    AbstractLongArraySet(int from, int to, boolean descending) {
+        super(from, to, descending);
+    }
+
+    abstract long getLong(int index);
+
+    @Override
+    Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    int search(Object key) {
+        return search((long) (Long) key);
+    }
+
+    int search(long key) {
+        int low = mFrom;
+        int high = mTo - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = getLong(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @Override
+    Comparator<? super Long> ascendingComparator() {
+        return null;
+    }
+
+    public boolean contains(long key) {
+        return search(key) >= 0;
+    }
+
+    public long lower(long key, long ifAbsent) {
+        return valueAt(below(search(key), false), ifAbsent);
+    }
+
+    public long floor(long key, long ifAbsent) {
+        return valueAt(below(search(key), true), ifAbsent);
+    }
+
+    public long ceiling(long key, long ifAbsent) {
+        return valueAt(above(search(key), true), ifAbsent);
+    }
+
+    public long higher(long key, long ifAbsent) {
+        return valueAt(above(search(key), false), ifAbsent);
+    }
+
+    private long valueAt(int index, long ifAbsent) {
+        return inRange(index) ? getLong(index) : ifAbsent;
+    }
+}
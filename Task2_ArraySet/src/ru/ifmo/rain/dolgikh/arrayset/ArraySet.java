@@ -2,14 +2,17 @@ package ru.ifmo.rain.dolgikh.arrayset;
 
 import java.util.*;
 
-public class ArraySet<T> extends AbstractSet<T> implements SortedSet<T> {
+public class ArraySet<T> extends AbstractArraySet<T> {
 
     private final List<T> mData;
     private final Comparator<? super T> mComparator;
+    private final BlockIndex<T> mIndex;
+    private final Class<?> mKeyType;
+    private final int[] mIntKeys;
+    private final long[] mLongKeys;
 
     public ArraySet() {
-        mComparator = null;
-        mData = Collections.emptyList();
+        this(Collections.emptyList(), null);
     }
 
     public ArraySet(Collection<? extends T> other) {
@@ -17,106 +20,301 @@ public class ArraySet<T> extends AbstractSet<T> implements SortedSet<T> {
     }
 
     public ArraySet(Collection<? extends T> other, Comparator<? super T> cmp) {
-        mComparator = cmp;
-        Set<T> tmp = new TreeSet<>(cmp);
-        tmp.addAll(other);
-        mData = new ArrayList<>(tmp);
+        this(sorted(other, cmp), cmp);
     }
 
     private ArraySet(List<T> data, Comparator<? super T> comparator) {
+        super(0, data.size(), false);
         this.mData = data;
         this.mComparator = comparator;
+        this.mIndex = null;
+        this.mKeyType = naturalKeyType(data, comparator);
+        this.mIntKeys = null;
+        this.mLongKeys = null;
     }
 
-    @Override
-    public int size() {
-        return mData.size();
+    private ArraySet(ArraySet<T> base, BlockIndex<T> index, int[] intKeys, long[] longKeys, int from, int to, boolean descending) {
+        super(from, to, descending);
+        this.mData = base.mData;
+        this.mComparator = base.mComparator;
+        this.mKeyType = base.mKeyType;
+        this.mIndex = index;
+        this.mIntKeys = intKeys;
+        this.mLongKeys = longKeys;
     }
 
-    @Override
-    public Iterator<T> iterator() {
-        return Collections.unmodifiableList(mData).iterator();
+    public ArraySet<T> withSearchIndex() {
+        BlockIndex<T> index = mIndex == null ? new BlockIndex<>(mData, mComparator) : mIndex;
+        return new ArraySet<>(this, index, null, null, mFrom, mTo, mDescending);
     }
 
-    @Override
-    public boolean contains(Object o) {
-        return Collections.binarySearch(mData, (T) o, mComparator) >= 0;
+    public ArraySet<T> withPrimitiveKeys() {
+        if (mIntKeys != null || mLongKeys != null || (mKeyType != Integer.class && mKeyType != Long.class)) {
+            return this;
+        }
+        int[] intKeys = mKeyType == Integer.class ? mData.stream().mapToInt(e -> (Integer) e).toArray() : null;
+        long[] longKeys = mKeyType == Long.class ? mData.stream().mapToLong(e -> (Long) e).toArray() : null;
+        return new ArraySet<>(this, null, intKeys, longKeys, mFrom, mTo, mDescending);
     }
 
-    private int getIndexOfElement(T t, int ifContains, int ifNotContains) {
-        int res = Collections.binarySearch(mData, t, mComparator);
-        if (res < 0) {
-            res = -res - 1;
-            return res - ifNotContains;
+    private static Class<?> naturalKeyType(List<?> data, Comparator<?> comparator) {
+        if (comparator != null || data.isEmpty()) {
+            return null;
+        }
+        Class<?> type = data.get(0).getClass();
+        if (type != Integer.class && type != Long.class && type != String.class) {
+            return null;
+        }
+        for (Object element : data) {
+            if (element.getClass() != type) {
+                return null;
+            }
         }
-        return res - ifContains;
+        return type;
     }
 
-    private int lowerIndex(T t) {
-        return getIndexOfElement(t, 1, 1);
+    private static <T> List<T> sorted(Collection<? extends T> other, Comparator<? super T> cmp) {
+        if (other instanceof SortedSet && Objects.equals(((SortedSet<?>) other).comparator(), cmp)) {
+            return new ArrayList<>(other);
+        }
+        @SuppressWarnings("unchecked")
+        T[] data = (T[]) other.toArray();
+        if (!isSorted(data, cmp)) {
+            Arrays.sort(data, cmp);
+        }
+        int size = 0;
+        for (T element : data) {
+            if (size == 0 || compare(data[size - 1], element, cmp) != 0) {
+                data[size++] = element;
+            }
+        }
+        return Arrays.asList(size == data.length ? data : Arrays.copyOf(data, size));
     }
 
+    private static <T> boolean isSorted(T[] data, Comparator<? super T> cmp) {
+        if (data.length == 1) {
+            checkComparable(data[0], cmp);
+        }
+        for (int i = 1; i < data.length; i++) {
+            if (compare(data[i - 1], data[i], cmp) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-    private int floorIndex(T t) {
-        return getIndexOfElement(t, 0, 1);
+    private static <T> void checkComparable(T element, Comparator<? super T> cmp) {
+        compare(element, element, cmp);
     }
 
-    private int ceilingIndex(T t) {
-        return getIndexOfElement(t, 0, 0);
+    public ArraySet<T> union(ArraySet<T> other) {
+        return merge(other, true, true, true);
     }
 
-    @Override
-    public T first() {
-        emptyChecker();
-        return mData.get(0);
+    public ArraySet<T> intersect(ArraySet<T> other) {
+        return merge(other, false, true, false);
     }
 
-    @Override
-    public T last() {
-        emptyChecker();
-        return mData.get(size() - 1);
+    public ArraySet<T> difference(ArraySet<T> other) {
+        return merge(other, true, false, false);
+    }
+
+    public ArraySet<T> symmetricDifference(ArraySet<T> other) {
+        return merge(other, true, false, true);
+    }
+
+    public ArraySet<T> with(Collection<? extends T> additions) {
+        return withChanges(additions, Collections.emptyList());
+    }
+
+    public ArraySet<T> without(Collection<? extends T> removals) {
+        return withChanges(Collections.emptyList(), removals);
+    }
+
+    public ArraySet<T> withChanges(Collection<? extends T> additions, Collection<? extends T> removals) {
+        Comparator<? super T> comparator = comparator();
+        ArraySet<T> added = new ArraySet<>(additions, comparator);
+        ArraySet<T> removed = new ArraySet<>(removals, comparator);
+        List<T> result = new ArrayList<>(size() + added.size());
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size() && j < added.size()) {
+            int cmp = compare(at(i), added.at(j), comparator);
+            if (cmp < 0) {
+                int next = gallop(this, i, added.at(j), comparator);
+                k = copyWithout(i, next, removed, k, result, comparator);
+                i = next;
+            } else {
+                result.add(cmp == 0 ? at(i++) : added.at(j));
+                j++;
+            }
+        }
+        copyWithout(i, size(), removed, k, result, comparator);
+        copy(added, j, added.size(), true, result);
+        return new ArraySet<>(result, comparator);
     }
 
-    private void emptyChecker() {
-        if (mData.isEmpty()) {
-            throw new NoSuchElementException();
+    private int copyWithout(int from, int to, ArraySet<T> removed, int k, List<T> result, Comparator<? super T> comparator) {
+        while (from < to) {
+            if (k == removed.size()) {
+                copy(this, from, to, true, result);
+                return k;
+            }
+            int cmp = compare(removed.at(k), at(from), comparator);
+            if (cmp < 0) {
+                k = gallop(removed, k, at(from), comparator);
+            } else if (cmp == 0) {
+                from++;
+                k++;
+            } else {
+                int next = Math.min(gallop(this, from, removed.at(k), comparator), to);
+                copy(this, from, next, true, result);
+                from = next;
+            }
         }
+        return k;
     }
 
-    private SortedSet<T> subSet(T fromElement, T toElement, boolean includingLast) {
-        int l = ceilingIndex(fromElement);
-        int r;
-        if (includingLast) {
-            r = floorIndex(toElement);
+    private ArraySet<T> merge(ArraySet<T> other, boolean keepLeft, boolean keepBoth, boolean keepRight) {
+        Comparator<? super T> comparator = comparator();
+        if (!Objects.equals(comparator, other.comparator())) {
+            throw new IllegalArgumentException("Sets have different comparators");
+        }
+        List<T> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < size() && j < other.size()) {
+            int cmp = compare(at(i), other.at(j), comparator);
+            if (cmp < 0) {
+                int next = gallop(this, i, other.at(j), comparator);
+                copy(this, i, next, keepLeft, result);
+                i = next;
+            } else if (cmp > 0) {
+                int next = gallop(other, j, at(i), comparator);
+                copy(other, j, next, keepRight, result);
+                j = next;
+            } else {
+                if (keepBoth) {
+                    result.add(at(i));
+                }
+                i++;
+                j++;
+            }
+        }
+        copy(this, i, size(), keepLeft, result);
+        copy(other, j, other.size(), keepRight, result);
+        return new ArraySet<>(result, comparator);
+    }
+
+    private static <T> int gallop(ArraySet<T> set, int from, T key, Comparator<? super T> comparator) {
+        int low = from + 1;
+        int high = low;
+        int step = 1;
+        while (high < set.size() && compare(set.at(high), key, comparator) < 0) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high, set.size());
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(set.at(mid), key, comparator) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static <T> void copy(ArraySet<T> set, int from, int to, boolean keep, List<T> result) {
+        if (!keep || from >= to) {
+            return;
+        }
+        if (set.mDescending) {
+            for (int i = from; i < to; i++) {
+                result.add(set.at(i));
+            }
         } else {
-            r = lowerIndex(toElement);
+            result.addAll(set.mData.subList(set.mFrom + from, set.mFrom + to));
         }
-        return new ArraySet<>(mData.subList(l, r + 1), mComparator);
     }
 
     @Override
-    public SortedSet<T> subSet(T fromElement, T toElement) {
-        return subSet(fromElement, toElement, false);
+    T get(int index) {
+        return mData.get(index);
     }
 
     @Override
-    public SortedSet<T> headSet(T toElement) {
-        if (mData.isEmpty()) {
-            return new ArraySet<>(Collections.emptyList(), mComparator);
+    @SuppressWarnings("unchecked")
+    int search(Object key) {
+        T t = (T) key;
+        if (mIndex != null) {
+            return indexedSearch(t);
+        }
+        if (mIntKeys != null && key instanceof Integer) {
+            return Arrays.binarySearch(mIntKeys, mFrom, mTo, (Integer) key);
+        }
+        if (mLongKeys != null && key instanceof Long) {
+            return Arrays.binarySearch(mLongKeys, mFrom, mTo, (Long) key);
         }
-        return subSet(first(), toElement, false);
+        if (mKeyType == String.class && key instanceof String) {
+            return searchString((String) key);
+        }
+        int low = mFrom;
+        int high = mTo - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(mData.get(mid), t, mComparator);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
     }
 
-    @Override
-    public SortedSet<T> tailSet(T fromElement) {
-        if (mData.isEmpty()) {
-            return new ArraySet<>(Collections.emptyList(), mComparator);
+    private int searchString(String key) {
+        int low = mFrom;
+        int high = mTo - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = ((String) mData.get(mid)).compareTo(key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int indexedSearch(T t) {
+        int position = Math.max(mFrom, Math.min(mIndex.lowerBound(t), mTo));
+        if (position < mTo && compare(mData.get(position), t, mComparator) == 0) {
+            return position;
         }
-        return subSet(fromElement, last(), true);
+        return -(position + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> int compare(T a, T b, Comparator<? super T> cmp) {
+        return cmp == null ? ((Comparable<? super T>) a).compareTo(b) : cmp.compare(a, b);
     }
 
     @Override
-    public Comparator<? super T> comparator() {
+    Comparator<? super T> ascendingComparator() {
         return mComparator;
     }
-}
\ No newline at end of file
+
+    @Override
+    ArraySet<T> view(int from, int to, boolean descending) {
+        return new ArraySet<>(this, mIndex, mIntKeys, mLongKeys, from, to, descending);
+    }
+}
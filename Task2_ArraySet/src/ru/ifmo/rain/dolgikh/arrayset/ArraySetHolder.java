@@ -0,0 +1,80 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+public class ArraySetHolder<T> {
+
+    private final AtomicReference<Snapshot<T>> mCurrent;
+
+    public ArraySetHolder() {
+        this(new ArraySet<>());
+    }
+
+    public ArraySetHolder(ArraySet<T> initial) {
+        mCurrent = new AtomicReference<>(new Snapshot<>(0, Objects.requireNonNull(initial)));
+    }
+
+    public static final class Snapshot<T> {
+
+        private final long mVersion;
+        private final ArraySet<T> mSet;
+
+        private Snapshot(long version, ArraySet<T> set) {
+            mVersion = version;
+            mSet = set;
+        }
+
+        public long getVersion() {
+            return mVersion;
+        }
+
+        public ArraySet<T> getSet() {
+            return mSet;
+        }
+
+        public boolean contains(Object o) {
+            return mSet.contains(o);
+        }
+    }
+
+    public Snapshot<T> snapshot() {
+        return mCurrent.get();
+    }
+
+    public ArraySet<T> current() {
+        return mCurrent.get().mSet;
+    }
+
+    public long version() {
+        return mCurrent.get().mVersion;
+    }
+
+    public boolean contains(Object o) {
+        return mCurrent.get().mSet.contains(o);
+    }
+
+    public boolean isStale(Snapshot<T> snapshot) {
+        return mCurrent.get() != snapshot;
+    }
+
+    public Snapshot<T> publish(ArraySet<T> next) {
+        Objects.requireNonNull(next);
+        return mCurrent.updateAndGet(current -> new Snapshot<>(current.mVersion + 1, next));
+    }
+
+    public boolean publish(Snapshot<T> expected, ArraySet<T> next) {
+        return mCurrent.compareAndSet(expected, new Snapshot<>(expected.mVersion + 1, Objects.requireNonNull(next)));
+    }
+
+    public Snapshot<T> update(UnaryOperator<ArraySet<T>> change) {
+        while (true) {
+            Snapshot<T> expected = mCurrent.get();
+            Snapshot<T> next = new Snapshot<>(expected.mVersion + 1, Objects.requireNonNull(change.apply(expected.mSet)));
+            if (mCurrent.compareAndSet(expected, next)) {
+                return next;
+            }
+        }
+    }
+}
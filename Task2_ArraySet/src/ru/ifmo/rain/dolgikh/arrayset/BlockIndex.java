@@ -0,0 +1,51 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+class BlockIndex<T> {
+
+    private static final int BLOCK = 16;
+
+    private final List<T> mData;
+    private final Comparator<? super T> mComparator;
+    private final List<Object[]> mLevels = new ArrayList<>();
+
+    BlockIndex(List<T> data, Comparator<? super T> comparator) {
+        mData = data;
+        mComparator = comparator;
+        Object[] level = data.toArray();
+        while (level.length > BLOCK) {
+            Object[] upper = new Object[(level.length + BLOCK - 1) / BLOCK];
+            for (int i = 0; i < upper.length; i++) {
+                upper[i] = level[i * BLOCK];
+            }
+            mLevels.add(0, upper);
+            level = upper;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    int lowerBound(T key) {
+        if (mData.isEmpty()) {
+            return 0;
+        }
+        int position = 0;
+        for (Object[] level : mLevels) {
+            int from = position * BLOCK;
+            int to = Math.min(level.length, from + BLOCK);
+            position = from;
+            while (position + 1 < to && ArraySet.compare((T) level[position + 1], key, mComparator) <= 0) {
+                position++;
+            }
+        }
+        int from = position * BLOCK;
+        int to = Math.min(mData.size(), from + BLOCK);
+        position = from;
+        while (position + 1 < to && ArraySet.compare(mData.get(position + 1), key, mComparator) <= 0) {
+            position++;
+        }
+        return ArraySet.compare(mData.get(position), key, mComparator) < 0 ? position + 1 : position;
+    }
+}
@@ -0,0 +1,268 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class FrontCodedStringSet extends AbstractArraySet<String> {
+
+    private static final int BLOCK = 16;
+
+    private final byte[] mBytes;
+    private final int[] mBlocks;
+    private final int mCount;
+
+    public FrontCodedStringSet() {
+        this(new String[0]);
+    }
+
+    public FrontCodedStringSet(Collection<? extends String> other) {
+        this(sortedUnique(other.toArray(new String[0])));
+    }
+
+    private FrontCodedStringSet(String[] data) {
+        super(0, data.length, false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mBlocks = new int[(data.length + BLOCK - 1) / BLOCK];
+        byte[] previous = new byte[0];
+        for (int i = 0; i < data.length; i++) {
+            byte[] key = encode(data[i]);
+            int shared = 0;
+            if (i % BLOCK == 0) {
+                mBlocks[i / BLOCK] = out.size();
+            } else {
+                shared = Arrays.mismatch(previous, key);
+                writeVarInt(out, shared);
+            }
+            writeVarInt(out, key.length - shared);
+            out.write(key, shared, key.length - shared);
+            previous = key;
+        }
+        mBytes = out.toByteArray();
+        mCount = data.length;
+    }
+
+    private FrontCodedStringSet(FrontCodedStringSet base, int from, int to, boolean descending) {
+        super(from, to, descending);
+        mBytes = base.mBytes;
+        mBlocks = base.mBlocks;
+        mCount = base.mCount;
+    }
+
+    public static FrontCodedStringSet of(String... values) {
+        return new FrontCodedStringSet(sortedUnique(values.clone()));
+    }
+
+    private static String[] sortedUnique(String[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (size == 0 || !values[i].equals(values[size - 1])) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static byte[] encode(String s) {
+        byte[] result = new byte[3 * s.length()];
+        int size = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                result[size++] = (byte) c;
+            } else if (c < 0x800) {
+                result[size++] = (byte) (0xC0 | c >> 6);
+                result[size++] = (byte) (0x80 | c & 0x3F);
+            } else {
+                result[size++] = (byte) (0xE0 | c >> 12);
+                result[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                result[size++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static String decode(byte[] bytes, int length) {
+        char[] chars = new char[length];
+        int size = 0;
+        int i = 0;
+        while (i < length) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                chars[size++] = (char) b;
+                i += 1;
+            } else if (b < 0xE0) {
+                chars[size++] = (char) ((b & 0x1F) << 6 | bytes[i + 1] & 0x3F);
+                i += 2;
+            } else {
+                chars[size++] = (char) ((b & 0x0F) << 12 | (bytes[i + 1] & 0x3F) << 6 | bytes[i + 2] & 0x3F);
+                i += 3;
+            }
+        }
+        return new String(chars, 0, size);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while (value >= 0x80) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private int compareHead(int block, byte[] key) {
+        int position = mBlocks[block];
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = mBytes[position++];
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        return Arrays.compareUnsigned(mBytes, position, position + length, key, 0, key.length);
+    }
+
+    @Override
+    String get(int index) {
+        return new Cursor(index).string();
+    }
+
+    @Override
+    int search(Object key) {
+        byte[] target = encode((String) key);
+        int low = 0;
+        int high = mBlocks.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareHead(mid, target);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return clamp(mid * BLOCK);
+            }
+        }
+        if (high < 0) {
+            return clamp(-1);
+        }
+        int index = high * BLOCK;
+        int end = Math.min(mCount, index + BLOCK);
+        Cursor cursor = new Cursor(index);
+        while (true) {
+            int cmp = cursor.compareTo(target);
+            if (cmp == 0) {
+                return clamp(index);
+            } else if (cmp > 0) {
+                return clamp(-(index + 1));
+            } else if (++index == end) {
+                return clamp(-(end + 1));
+            }
+            cursor.advance();
+        }
+    }
+
+    private int clamp(int found) {
+        if (found >= 0 && inRange(found)) {
+            return found;
+        }
+        int position = found < 0 ? -found - 1 : found;
+        return -(Math.max(mFrom, Math.min(position, mTo)) + 1);
+    }
+
+    @Override
+    Comparator<? super String> ascendingComparator() {
+        return null;
+    }
+
+    @Override
+    FrontCodedStringSet view(int from, int to, boolean descending) {
+        return new FrontCodedStringSet(this, from, to, descending);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        if (mDescending) {
+            return super.iterator();
+        }
+        return new Iterator<>() {
+            private Cursor cursor;
+            private int next = mFrom;
+
+            @Override
+            public boolean hasNext() {
+                return next < mTo;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (cursor == null) {
+                    cursor = new Cursor(next);
+                } else {
+                    cursor.advance();
+                }
+                next++;
+                return cursor.string();
+            }
+        };
+    }
+
+    private final class Cursor {
+
+        private byte[] mKey = new byte[64];
+        private int mLength;
+        private int mIndex;
+        private int mPosition;
+
+        Cursor(int index) {
+            mIndex = index - index % BLOCK;
+            mPosition = mBlocks[index / BLOCK];
+            read(0);
+            while (mIndex < index) {
+                advance();
+            }
+        }
+
+        void advance() {
+            mIndex++;
+            read(mIndex % BLOCK == 0 ? 0 : readVarInt());
+        }
+
+        private void read(int shared) {
+            int suffix = readVarInt();
+            if (mKey.length < shared + suffix) {
+                mKey = Arrays.copyOf(mKey, Math.max(2 * mKey.length, shared + suffix));
+            }
+            System.arraycopy(mBytes, mPosition, mKey, shared, suffix);
+            mPosition += suffix;
+            mLength = shared + suffix;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = mBytes[mPosition++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        int compareTo(byte[] key) {
+            return Arrays.compareUnsigned(mKey, 0, mLength, key, 0, key.length);
+        }
+
+        String string() {
+            return decode(mKey, mLength);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+public class IntArraySet extends AbstractIntArraySet {
+
+    private final int[] mData;
+
+    public IntArraySet() {
+        this(new int[0]);
+    }
+
+    public IntArraySet(Collection<? extends Integer> other) {
+        this(sortedUnique(other.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    private IntArraySet(int[] data) {
+        this(data, 0, data.length, false);
+    }
+
+    private IntArraySet(int[] data, int from, int to, boolean descending) {
+        super(from, to, descending);
+        mData = data;
+    }
+
+    public static IntArraySet of(int... values) {
+        return new IntArraySet(sortedUnique(values.clone()));
+    }
+
+    private static int[] sortedUnique(int[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (size == 0 || values[i] != values[size - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    @Override
+    int getInt(int index) {
+        return mData[index];
+    }
+
+    @Override
+    int search(int key) {
+        return Arrays.binarySearch(mData, mFrom, mTo, key);
+    }
+
+    @Override
+    IntArraySet view(int from, int to, boolean descending) {
+        return new IntArraySet(mData, from, to, descending);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+public class LongArraySet extends AbstractLongArraySet {
+
+    private final long[] mData;
+
+    public LongArraySet() {
+        this(new long[0]);
+    }
+
+    public LongArraySet(Collection<? extends Long> other) {
+        this(sortedUnique(other.stream().mapToLong(Long::longValue).toArray()));
+    }
+
+    private LongArraySet(long[] data) {
+        this(data, 0, data.length, false);
+    }
+
+    private LongArraySet(long[] data, int from, int to, boolean descending) {
+        super(from, to, descending);
+        mData = data;
+    }
+
+    public static LongArraySet of(long... values) {
+        return new LongArraySet(sortedUnique(values.clone()));
+    }
+
+    static long[] sortedUnique(long[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (size == 0 || values[i] != values[size - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    @Override
+    long getLong(int index) {
+        return mData[index];
+    }
+
+    @Override
+    int search(long key) {
+        return Arrays.binarySearch(mData, mFrom, mTo, key);
+    }
+
+    @Override
+    LongArraySet view(int from, int to, boolean descending) {
+        return new LongArraySet(mData, from, to, descending);
+    }
+}
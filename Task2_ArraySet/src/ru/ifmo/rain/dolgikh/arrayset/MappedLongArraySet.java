@@ -0,0 +1,107 @@
+package ru.ifmo.rain.dolgikh.arrayset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+public class MappedLongArraySet extends AbstractLongArraySet {
+
+    private static final int MAGIC = 0x4c534554;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SEGMENT_SHIFT = 27;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final ByteBuffer[] mSegments;
+
+    private MappedLongArraySet(ByteBuffer[] segments, int from, int to, boolean descending) {
+        super(from, to, descending);
+        mSegments = segments;
+    }
+
+    public static MappedLongArraySet open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Unsupported set format: " + path.getFileName());
+            }
+            long count = header.getLong();
+            if (count < 0 || count > Integer.MAX_VALUE || channel.size() < HEADER_SIZE + count * Long.BYTES) {
+                throw new IOException("Corrupted set file: " + path.getFileName());
+            }
+            ByteBuffer[] segments = new ByteBuffer[(int) ((count + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long length = Math.min(SEGMENT_MASK + 1, count - first) * Long.BYTES;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * Long.BYTES, length);
+            }
+            return new MappedLongArraySet(segments, 0, (int) count, false);
+        }
+    }
+
+    // Sorts values in place so that building the file does not need a second copy on heap
+    public static MappedLongArraySet write(Path path, long... values) throws IOException {
+        Arrays.sort(values);
+        return write(path, Arrays.stream(values));
+    }
+
+    public static MappedLongArraySet write(Path path, LongStream sorted) throws IOException {
+        PrimitiveIterator.OfLong values = sorted.iterator();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(-1);
+            long count = 0;
+            long previous = 0;
+            while (values.hasNext()) {
+                long value = values.nextLong();
+                if (count > 0 && value <= previous) {
+                    if (value == previous) {
+                        continue;
+                    }
+                    throw new IllegalArgumentException("Values are not sorted: " + value + " after " + previous);
+                }
+                if (count == Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many values");
+                }
+                if (!buffer.hasRemaining()) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(value);
+                previous = value;
+                count++;
+            }
+            flush(channel, buffer);
+            buffer.putLong(count).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, 8 + buffer.position());
+            }
+        }
+        return open(path);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    long getLong(int index) {
+        return mSegments[index >>> SEGMENT_SHIFT].getLong((index & SEGMENT_MASK) << 3);
+    }
+
+    @Override
+    MappedLongArraySet view(int from, int to, boolean descending) {
+        return new MappedLongArraySet(mSegments, from, to, descending);
+    }
+}
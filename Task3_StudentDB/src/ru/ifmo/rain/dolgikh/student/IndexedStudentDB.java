@@ -0,0 +1,107 @@
+package ru.ifmo.rain.dolgikh.student;
+
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class IndexedStudentDB extends StudentDB {
+
+    private final List<Student> roster;
+    private final Index index;
+
+    public IndexedStudentDB() {
+        this(Collections.emptyList());
+    }
+
+    public IndexedStudentDB(Collection<Student> students) {
+        roster = List.copyOf(students);
+        index = new Index(roster);
+    }
+
+    public List<Student> getRoster() {
+        return roster;
+    }
+
+    private boolean isRoster(Collection<Student> students) {
+        return students == roster;
+    }
+
+    @Override
+    public Set<String> getDistinctFirstNames(List<Student> students) {
+        if (!isRoster(students)) {
+            return super.getDistinctFirstNames(students);
+        }
+        return index.firstNames;
+    }
+
+    @Override
+    public String getMinStudentFirstName(List<Student> students) {
+        if (!isRoster(students)) {
+            return super.getMinStudentFirstName(students);
+        }
+        return index.byId.isEmpty() ? "" : index.byId.get(0).getFirstName();
+    }
+
+    @Override
+    public List<Student> sortStudentsById(Collection<Student> students) {
+        return isRoster(students) ? new ArrayList<>(index.byId) : super.sortStudentsById(students);
+    }
+
+    @Override
+    public List<Student> sortStudentsByName(Collection<Student> students) {
+        return isRoster(students) ? new ArrayList<>(index.byName) : super.sortStudentsByName(students);
+    }
+
+    @Override
+    public List<Student> findStudentsByFirstName(Collection<Student> students, String name) {
+        return isRoster(students) ? find(index.byFirstName, name) : super.findStudentsByFirstName(students, name);
+    }
+
+    @Override
+    public List<Student> findStudentsByLastName(Collection<Student> students, String name) {
+        return isRoster(students) ? find(index.byLastName, name) : super.findStudentsByLastName(students, name);
+    }
+
+    @Override
+    public List<Student> findStudentsByGroup(Collection<Student> students, String group) {
+        return isRoster(students) ? find(index.byGroup, group) : super.findStudentsByGroup(students, group);
+    }
+
+    private static List<Student> find(Map<String, List<Student>> index, String key) {
+        return new ArrayList<>(index.getOrDefault(key, Collections.emptyList()));
+    }
+
+    private static final class Index {
+
+        private final List<Student> byId;
+        private final List<Student> byName;
+        private final Map<String, List<Student>> byFirstName;
+        private final Map<String, List<Student>> byLastName;
+        private final Map<String, List<Student>> byGroup;
+        private final SortedSet<String> firstNames;
+
+        private Index(List<Student> students) {
+            byId = students.stream().sorted(Student::compareTo).collect(Collectors.toList());
+            byLastName = students.stream().collect(Collectors.groupingBy(Student::getLastName, HashMap::new,
+                    Collectors.collectingAndThen(Collectors.toCollection(ArrayList::new), Index::sortedByName)));
+            byName = byLastName.keySet().stream()
+                    .sorted()
+                    .flatMap(name -> byLastName.get(name).stream())
+                    .collect(Collectors.toList());
+            byFirstName = groupByName(Student::getFirstName);
+            byGroup = groupByName(Student::getGroup);
+            firstNames = Collections.unmodifiableSortedSet(new TreeSet<>(byFirstName.keySet()));
+        }
+
+        private static List<Student> sortedByName(List<Student> students) {
+            students.sort(NAME_ORDER);
+            return students;
+        }
+
+        private Map<String, List<Student>> groupByName(Function<Student, String> key) {
+            return byName.stream().collect(Collectors.groupingBy(key, HashMap::new, Collectors.toList()));
+        }
+    }
+}
@@ -12,6 +12,11 @@ import java.util.stream.Collectors;
 
 public class StudentDB implements StudentQuery {
 
+    static final Comparator<Student> NAME_ORDER = Comparator
+            .comparing(Student::getLastName)
+            .thenComparing(Student::getFirstName)
+            .thenComparingInt(Student::getId);
+
     private <C extends Collection<String>> C getMappedCollection(List<Student> students, Function<Student, String> mapper, Supplier<C> collectionSupplier) {
         return students.stream().map(mapper).collect(Collectors.toCollection(collectionSupplier));
     }
@@ -61,11 +66,7 @@ public class StudentDB implements StudentQuery {
 
     @Override
     public List<Student> sortStudentsByName(Collection<Student> students) {
-        return getSortedList(students,
-                Comparator
-                        .comparing(Student::getLastName)
-                        .thenComparing(Student::getFirstName)
-                        .thenComparing(Student::getId));
+        return getSortedList(students, NAME_ORDER);
     }
 
     private List<Student> getSortedFilteredList(Collection<Student> students, Predicate<Student> predicate) {